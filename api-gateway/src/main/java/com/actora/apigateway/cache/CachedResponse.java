@@ -0,0 +1,26 @@
+package com.actora.apigateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A cached downstream response. The body lives in a direct (off-heap) buffer that is shared
+ * read-only between requests; callers must use {@link #body()} which returns a fresh view.
+ *
+ * @param status  HTTP status code
+ * @param headers read-only response headers, including the ETag
+ * @param eTag    entity tag used for If-None-Match revalidation
+ * @param content off-heap response body
+ * @param ttlNanos time to live of this entry
+ */
+public record CachedResponse(int status, HttpHeaders headers, String eTag, ByteBuffer content, long ttlNanos) {
+
+    public ByteBuffer body() {
+        return content.asReadOnlyBuffer();
+    }
+
+    public int size() {
+        return content.capacity();
+    }
+}
@@ -0,0 +1,78 @@
+package com.actora.apigateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Size-bounded store for gateway response caching.
+ *
+ * Bodies are held off-heap in direct buffers and the store is bounded by total body bytes, so a
+ * large cache does not add to heap pressure or GC pauses. Each entry expires after its route's TTL.
+ * Hit, miss and eviction counts are published as {@code cache.*} meters tagged
+ * {@code cache=gateway.responses}; 304 revalidations are counted in {@code gateway.response-cache.not-modified}.
+ */
+@Component
+public class ResponseCacheStore {
+
+    private static final String CACHE_NAME = "gateway.responses";
+
+    private final Cache<String, CachedResponse> cache;
+    private final long maxEntryBytes;
+    private final Counter notModifiedCounter;
+
+    public ResponseCacheStore(MeterRegistry meterRegistry,
+                              @Value("${gateway.response-cache.max-size:64MB}") DataSize maxSize,
+                              @Value("${gateway.response-cache.max-entry-size:1MB}") DataSize maxEntrySize) {
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedResponse response) -> response.size())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+                        return response.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse response, long currentTime,
+                                                  long currentDuration) {
+                        return response.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse response, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.notModifiedCounter = Counter.builder("gateway.response-cache.not-modified")
+                .description("Cached responses answered with 304 Not Modified")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, CachedResponse response) {
+        cache.put(key, response);
+    }
+
+    public boolean fits(long bodyBytes) {
+        return bodyBytes <= maxEntryBytes;
+    }
+
+    public void recordNotModified() {
+        notModifiedCounter.increment();
+    }
+}
@@ -1,83 +1,112 @@
 package com.actora.apigateway.config;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.actora.apigateway.filter.CorrelationIdFilter;
+import com.actora.apigateway.logging.AccessLogRecord;
+import com.actora.apigateway.logging.AccessLogWriter;
+import com.actora.apigateway.metrics.GatewayMetrics;
+import com.actora.apigateway.warmup.GatewayWarmup;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
-import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.UUID;
+import java.net.InetSocketAddress;
 
 /**
- * Global gateway configuration for logging, correlation IDs, and common filters.
+ * Global gateway configuration for access logging, metrics, and common filters.
  */
 @Configuration
 public class GatewayConfig {
 
-    private static final Logger log = LoggerFactory.getLogger(GatewayConfig.class);
-    private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
-    private static final String REQUEST_START_TIME = "requestStartTime";
+    private static final String UNMATCHED_ROUTE = "unmatched";
 
     /**
-     * Global filter to add correlation ID to all requests
+     * Global filter for access logging. Emits one sampled record per request through the
+     * asynchronous {@link AccessLogWriter}; nothing is formatted or written on the request thread.
+     * Startup warmup requests are not logged.
      */
     @Bean
-    @Order(Ordered.HIGHEST_PRECEDENCE)
-    public GlobalFilter correlationIdFilter() {
-        return (exchange, chain) -> {
-            ServerHttpRequest request = exchange.getRequest();
-            String correlationId = request.getHeaders().getFirst(CORRELATION_ID_HEADER);
+    public GlobalFilter loggingFilter(AccessLogWriter accessLogWriter) {
+        return ordered(Ordered.HIGHEST_PRECEDENCE + 1, (exchange, chain) -> {
+            long startNanos = System.nanoTime();
+            long startMillis = System.currentTimeMillis();
 
-            if (correlationId == null || correlationId.isEmpty()) {
-                correlationId = UUID.randomUUID().toString();
-            }
+            return chain.filter(exchange).doFinally(signal -> {
+                if (exchange.getAttribute(GatewayWarmup.WARMUP_ATTR) != null) {
+                    return;
+                }
+                long durationNanos = System.nanoTime() - startNanos;
+                Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+                String routeId = route != null ? route.getId() : UNMATCHED_ROUTE;
+                HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+                int status = statusCode != null ? statusCode.value() : 0;
 
-            final String finalCorrelationId = correlationId;
+                if (accessLogWriter.isSampled(routeId, status)) {
+                    ServerHttpRequest request = exchange.getRequest();
+                    InetSocketAddress remoteAddress = request.getRemoteAddress();
+                    accessLogWriter.submit(new AccessLogRecord(
+                            startMillis,
+                            request.getMethod().name(),
+                            request.getPath().value(),
+                            routeId,
+                            status,
+                            durationNanos,
+                            remoteAddress != null ? remoteAddress.getHostString() : "-",
+                            exchange.getAttribute(CorrelationIdFilter.CORRELATION_ID_ATTR)));
+                }
+            });
+        });
+    }
 
-            ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
-                    .header(CORRELATION_ID_HEADER, finalCorrelationId)
-                    .build();
+    /**
+     * Global filter recording per-route latency into {@link GatewayMetrics}. Startup warmup
+     * requests are not recorded.
+     */
+    @Bean
+    public GlobalFilter metricsFilter(GatewayMetrics gatewayMetrics) {
+        return ordered(Ordered.HIGHEST_PRECEDENCE + 2, (exchange, chain) -> {
+            long startNanos = System.nanoTime();
 
-            return chain.filter(exchange.mutate()
-                    .request(modifiedRequest)
-                    .build())
-                    .then(Mono.fromRunnable(() -> {
-                        exchange.getResponse().getHeaders().add(CORRELATION_ID_HEADER, finalCorrelationId);
-                    }));
-        };
+            return chain.filter(exchange).doFinally(signal -> {
+                if (exchange.getAttribute(GatewayWarmup.WARMUP_ATTR) != null) {
+                    return;
+                }
+                Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+                HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+                gatewayMetrics.recordRequest(
+                        route != null ? route.getId() : UNMATCHED_ROUTE,
+                        exchange.getRequest().getMethod().name(),
+                        statusCode != null ? statusCode.value() : 0,
+                        System.nanoTime() - startNanos);
+            });
+        });
     }
 
     /**
-     * Global filter for request/response logging
+     * The gateway only honours {@link Ordered} on global filter instances; {@code @Order} on a
+     * lambda bean is ignored and the filter would run last, after routing has started.
      */
-    @Bean
-    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
-    public GlobalFilter loggingFilter() {
-        return (exchange, chain) -> {
-            long startTime = System.currentTimeMillis();
-            exchange.getAttributes().put(REQUEST_START_TIME, startTime);
+    private static GlobalFilter ordered(int order, GlobalFilter filter) {
+        return new OrderedGlobalFilter(order, filter);
+    }
 
-            ServerHttpRequest request = exchange.getRequest();
-            log.info("Incoming request: {} {} from {}",
-                    request.getMethod(),
-                    request.getURI().getPath(),
-                    request.getRemoteAddress());
+    private record OrderedGlobalFilter(int order, GlobalFilter delegate) implements GlobalFilter, Ordered {
 
-            return chain.filter(exchange).then(Mono.fromRunnable(() -> {
-                Long requestStartTime = exchange.getAttribute(REQUEST_START_TIME);
-                if (requestStartTime != null) {
-                    long duration = System.currentTimeMillis() - requestStartTime;
-                    log.info("Outgoing response: {} {} - Status: {} - Duration: {}ms",
-                            request.getMethod(),
-                            request.getURI().getPath(),
-                            exchange.getResponse().getStatusCode(),
-                            duration);
-                }
-            }));
-        };
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            return delegate.filter(exchange, chain);
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
     }
 }
@@ -0,0 +1,88 @@
+package com.actora.apigateway.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Connection pool of the HttpClient the gateway uses for all downstream calls.
+ *
+ * Pool size, acquire timeout, idle/max-life time, background eviction and pool metrics come from
+ * the standard {@code spring.cloud.gateway.httpclient.pool.*} properties. This factory adds what
+ * those properties cannot express: a bound on the pending-acquire queue, so a saturated pool
+ * fails fast instead of queueing without limit, and the leasing strategy.
+ *
+ * Reactor Netty keeps one pool per remote address, so {@code max-connections} applies to each
+ * downstream instance. With {@code pool.metrics=true} the pools publish
+ * {@code reactor.netty.connection.provider.*} meters (active, idle, pending, acquire time) tagged
+ * by remote address.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    public enum LeasingStrategy {
+        /** Reuse the least recently used connection, spreading load across the pool. */
+        FIFO,
+        /** Reuse the most recently used connection, letting surplus connections idle out. */
+        LIFO
+    }
+
+    @Bean
+    public HttpClientFactory gatewayHttpClientFactory(
+            HttpClientProperties properties,
+            ServerProperties serverProperties,
+            HttpClientSslConfigurer sslConfigurer,
+            List<HttpClientCustomizer> customizers,
+            @Value("${gateway.httpclient.pool.pending-acquire-max-count:-1}") int pendingAcquireMaxCount,
+            @Value("${gateway.httpclient.pool.leasing-strategy:fifo}") LeasingStrategy leasingStrategy) {
+        return new HttpClientFactory(properties, serverProperties, sslConfigurer, customizers) {
+            @Override
+            protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+                return connectionProvider(properties.getPool(), pendingAcquireMaxCount, leasingStrategy);
+            }
+        };
+    }
+
+    private static ConnectionProvider connectionProvider(HttpClientProperties.Pool pool,
+                                                         int pendingAcquireMaxCount,
+                                                         LeasingStrategy leasingStrategy) {
+        if (pool.getType() == HttpClientProperties.Pool.PoolType.DISABLED) {
+            return ConnectionProvider.newConnection();
+        }
+
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(pool.getName());
+        if (pool.getType() == HttpClientProperties.Pool.PoolType.FIXED) {
+            builder.maxConnections(pool.getMaxConnections())
+                    .pendingAcquireTimeout(Duration.ofMillis(pool.getAcquireTimeout()));
+        } else {
+            builder.maxConnections(Integer.MAX_VALUE)
+                    .pendingAcquireTimeout(Duration.ZERO);
+        }
+        builder.pendingAcquireMaxCount(pendingAcquireMaxCount);
+
+        if (pool.getMaxIdleTime() != null) {
+            builder.maxIdleTime(pool.getMaxIdleTime());
+        }
+        if (pool.getMaxLifeTime() != null) {
+            builder.maxLifeTime(pool.getMaxLifeTime());
+        }
+        builder.evictInBackground(pool.getEvictionInterval());
+        builder.metrics(pool.isMetrics());
+
+        if (leasingStrategy == LeasingStrategy.LIFO) {
+            builder.lifo();
+        } else {
+            builder.fifo();
+        }
+        return builder.build();
+    }
+}
@@ -1,58 +1,84 @@
 package com.actora.apigateway.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Fallback controller for circuit breaker fallback routes.
+ *
+ * Fallback bodies are serialized once at startup and written as-is on every call, so an open
+ * circuit costs no per-request JSON encoding. Mappings accept any HTTP method because circuit
+ * breakers forward the original request here.
  */
 @RestController
 @RequestMapping("/fallback")
 public class FallbackController {
 
-    @GetMapping("/users")
-    public Mono<ResponseEntity<Map<String, Object>>> userServiceFallback() {
-        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-                .body(buildFallbackResponse("User Service is currently unavailable. Please try again later.")));
+    private final byte[] userServiceBody;
+    private final byte[] orderServiceBody;
+    private final byte[] authServiceBody;
+    private final byte[] defaultBody;
+
+    public FallbackController(ObjectMapper objectMapper) {
+        this.userServiceBody = buildFallbackResponse(objectMapper,
+                "User Service is currently unavailable. Please try again later.");
+        this.orderServiceBody = buildFallbackResponse(objectMapper,
+                "Order Service is currently unavailable. Please try again later.");
+        this.authServiceBody = buildFallbackResponse(objectMapper,
+                "Authentication Service is currently unavailable. Please try again later.");
+        this.defaultBody = buildFallbackResponse(objectMapper,
+                "Service is currently unavailable. Please try again later.");
     }
 
-    @GetMapping("/orders")
-    public Mono<ResponseEntity<Map<String, Object>>> orderServiceFallback() {
-        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-                .body(buildFallbackResponse("Order Service is currently unavailable. Please try again later.")));
+    @RequestMapping("/users")
+    public Mono<ResponseEntity<byte[]>> userServiceFallback() {
+        return Mono.just(serviceUnavailable(userServiceBody));
     }
 
-    @GetMapping("auth")
-    public Mono<ResponseEntity<Map<String, Object>>> authServiceFallback() {
-        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-                .body(buildFallbackResponse("Authentication Service is currently unavailable. Please try again later.")));
+    @RequestMapping("/orders")
+    public Mono<ResponseEntity<byte[]>> orderServiceFallback() {
+        return Mono.just(serviceUnavailable(orderServiceBody));
     }
 
-    @GetMapping("/default")
-    public Mono<ResponseEntity<Map<String, Object>>> defaultFallback() {
-        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-                .body(buildFallbackResponse("Service is currently unavailable. Please try again later.")));
+    @RequestMapping("/auth")
+    public Mono<ResponseEntity<byte[]>> authServiceFallback() {
+        return Mono.just(serviceUnavailable(authServiceBody));
     }
 
-    private Map<String, Object> buildFallbackResponse(String message) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", false);
-        response.put("message", message);
-        response.put("timestamp", LocalDateTime.now().toString());
+    @RequestMapping("/default")
+    public Mono<ResponseEntity<byte[]>> defaultFallback() {
+        return Mono.just(serviceUnavailable(defaultBody));
+    }
 
-        Map<String, Object> error = new HashMap<>();
+    private ResponseEntity<byte[]> serviceUnavailable(byte[] body) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private static byte[] buildFallbackResponse(ObjectMapper objectMapper, String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
         error.put("code", "SERVICE_UNAVAILABLE");
         error.put("message", message);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", false);
+        response.put("message", message);
         response.put("error", error);
 
-        return response;
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize fallback response", e);
+        }
     }
 }
@@ -1,9 +1,10 @@
 package com.actora.apigateway.filter;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import com.actora.apigateway.metrics.GatewayMetrics;
+import com.actora.apigateway.security.AuthenticatedUser;
+import com.actora.apigateway.security.ReactiveTokenVerifier;
+import com.actora.apigateway.security.TokenRevokedException;
+import com.actora.apigateway.warmup.GatewayWarmup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,8 +17,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Gateway authentication filter that validates JWT tokens and passes user info
@@ -36,31 +38,37 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
     public static final String HEADER_USER_NAME = "X-User-Name";
     public static final String HEADER_USER_ROLES = "X-User-Roles";
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    // Exchange attribute holding the verified AuthenticatedUser for later route filters
+    public static final String AUTHENTICATED_USER_ATTR = AuthenticationFilter.class.getName() + ".authenticatedUser";
 
-    // Public endpoints that don't require authentication
-    private static final List<String> OPEN_ENDPOINTS = List.of(
-            "/users/health",
-            "/users/exists",
-            "/orders/health",
-            "/actuator",
-            "/v3/api-docs",
-            "/swagger-ui"
-    );
+    private final ReactiveTokenVerifier tokenVerifier;
+    private final GatewayMetrics gatewayMetrics;
 
-    public AuthenticationFilter() {
+    // Public path prefixes shared by every route; routes add their own via Config.openPaths
+    private final List<String> defaultOpenPaths;
+
+    public AuthenticationFilter(ReactiveTokenVerifier tokenVerifier,
+                                GatewayMetrics gatewayMetrics,
+                                @Value("${gateway.auth.open-paths:}") List<String> defaultOpenPaths) {
         super(Config.class);
+        this.tokenVerifier = tokenVerifier;
+        this.gatewayMetrics = gatewayMetrics;
+        this.defaultOpenPaths = List.copyOf(defaultOpenPaths);
     }
 
     @Override
     public GatewayFilter apply(Config config) {
+        // Compiled once per route definition, not per request
+        List<String> openPaths = new ArrayList<>(defaultOpenPaths);
+        openPaths.addAll(config.getOpenPaths());
+        OpenEndpointMatcher openEndpoints = OpenEndpointMatcher.of(openPaths);
+
         return (exchange, chain) -> {
             ServerHttpRequest request = exchange.getRequest();
             String path = request.getPath().value();
 
             // Check if endpoint is public
-            if (isOpenEndpoint(path)) {
+            if (openEndpoints.matches(path)) {
                 return chain.filter(exchange);
             }
 
@@ -75,45 +83,48 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
             }
 
             String token = authHeader.substring(7);
-
-            try {
-                Claims claims = validateToken(token);
-
-                // Add user info to headers for downstream services
-                ServerHttpRequest modifiedRequest = request.mutate()
-                        .header(HEADER_USER_ID, String.valueOf(claims.get("userId")))
-                        .header(HEADER_USER_NAME, claims.getSubject())
-                        .header(HEADER_USER_ROLES, String.join(",", getRoles(claims)))
-                        .build();
-
-                return chain.filter(exchange.mutate().request(modifiedRequest).build());
-            } catch (Exception e) {
-                log.error("Token validation failed: {}", e.getMessage());
-                return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
-            }
+            long validationStart = System.nanoTime();
+            // Startup warmup tokens are not real validations
+            boolean recorded = exchange.getAttribute(GatewayWarmup.WARMUP_ATTR) == null;
+
+            return tokenVerifier.verify(token)
+                    .doOnSuccess(user -> {
+                        if (recorded) {
+                            gatewayMetrics.recordJwtValidation(
+                                    GatewayMetrics.OUTCOME_SUCCESS, System.nanoTime() - validationStart);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (recorded) {
+                            gatewayMetrics.recordJwtValidation(
+                                    validationOutcome(e), System.nanoTime() - validationStart);
+                        }
+                    })
+                    .map(user -> authenticated(exchange, user))
+                    .onErrorResume(e -> onVerificationError(exchange, e).then(Mono.empty()))
+                    .flatMap(chain::filter);
         };
     }
 
-    private boolean isOpenEndpoint(String path) {
-        return OPEN_ENDPOINTS.stream().anyMatch(path::contains);
+    private ServerWebExchange authenticated(ServerWebExchange exchange, AuthenticatedUser user) {
+        // User info reaches downstream services as headers via DownstreamHeadersFilter
+        exchange.getAttributes().put(AUTHENTICATED_USER_ATTR, user);
+        return exchange;
     }
 
-    private Claims validateToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static String validationOutcome(Throwable e) {
+        if (e instanceof RejectedExecutionException) {
+            return GatewayMetrics.OUTCOME_REJECTED;
+        }
+        return e instanceof TokenRevokedException ? GatewayMetrics.OUTCOME_REVOKED : GatewayMetrics.OUTCOME_INVALID;
     }
 
-    @SuppressWarnings("unchecked")
-    private List<String> getRoles(Claims claims) {
-        return claims.get("roles", List.class);
-    }
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Mono<Void> onVerificationError(ServerWebExchange exchange, Throwable e) {
+        if (e instanceof RejectedExecutionException) {
+            return onError(exchange, "Token verification capacity exhausted", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        log.error("Token validation failed: {}", e.getMessage());
+        return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
     }
 
     private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus status) {
@@ -123,6 +134,16 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
     }
 
     public static class Config {
-        // Configuration properties if needed
+
+        // Route-specific public path prefixes, e.g. /users/health
+        private List<String> openPaths = new ArrayList<>();
+
+        public List<String> getOpenPaths() {
+            return openPaths;
+        }
+
+        public void setOpenPaths(List<String> openPaths) {
+            this.openPaths = openPaths;
+        }
     }
 }
@@ -0,0 +1,188 @@
+package com.actora.apigateway.filter;
+
+import com.actora.apigateway.ratelimit.GradientConcurrencyLimiter;
+import com.actora.apigateway.warmup.GatewayWarmup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adaptive admission control per route.
+ *
+ * Each route gets a {@link GradientConcurrencyLimiter} whose limit follows the latency observed
+ * through this filter: it grows while latency is stable and shrinks when latency rises or the
+ * service answers with 5xx. Requests beyond the current limit are rejected immediately with 503
+ * instead of queueing in the connection pool, so an overloaded service sheds excess load at the
+ * gateway before timeouts pile up.
+ *
+ * Place the filter after the response cache and coalescing filters, so only requests that go
+ * downstream take a slot, and before the circuit breaker, so its fallback responses count as
+ * failures.
+ *
+ * Metrics: {@code gateway.concurrency.limit} and {@code gateway.concurrency.inflight} gauges and
+ * the {@code gateway.concurrency.rejected} counter, tagged by route.
+ */
+@Component
+public class ConcurrencyLimitFilter extends AbstractGatewayFilterFactory<ConcurrencyLimitFilter.Config> {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    // Limiters per route id; kept across route refreshes so the learned limit is not lost
+    private final Map<String, GradientConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final MeterProvider<Counter> rejectedCounters;
+
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.rejectedCounters = Counter.builder("gateway.concurrency.rejected")
+                .description("Requests rejected because the route's concurrency limit was reached")
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId();
+        GradientConcurrencyLimiter limiter = limiters.computeIfAbsent(routeId, id -> newLimiter(id, config));
+
+        return (exchange, chain) -> {
+            int inFlight = limiter.tryAcquire();
+            if (inFlight < 0) {
+                rejectedCounters.withTag("route", routeId).increment();
+                log.debug("Concurrency limit {} reached for route {}", limiter.limit(), routeId);
+                exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                return exchange.getResponse().setComplete();
+            }
+
+            long start = System.nanoTime();
+            return chain.filter(exchange)
+                    .doFinally(signal -> {
+                        // Warmup requests are answered by a local stub and would skew the latency baseline
+                        if (signal == SignalType.CANCEL || exchange.getAttribute(GatewayWarmup.WARMUP_ATTR) != null) {
+                            limiter.release();
+                            return;
+                        }
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        boolean dropped = signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+                        long now = System.nanoTime();
+                        limiter.release(now - start, inFlight, dropped, now);
+                    });
+        };
+    }
+
+    private GradientConcurrencyLimiter newLimiter(String routeId, Config config) {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(
+                config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit(),
+                config.getRttTolerance(), config.getSmoothing(),
+                config.getWindow().toNanos(), config.getMinWindowSamples(), System.nanoTime());
+        Gauge.builder("gateway.concurrency.limit", limiter, GradientConcurrencyLimiter::limit)
+                .description("Current adaptive concurrency limit of the route")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limiter, GradientConcurrencyLimiter::inFlight)
+                .description("Requests of the route currently holding a concurrency slot")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+
+        // Limit used until latency has been observed, and the bounds the limit moves within
+        private int initialLimit = 50;
+        private int minLimit = 10;
+        private int maxLimit = 500;
+
+        // Latency may rise to this multiple of the long-term average before the limit shrinks
+        private double rttTolerance = 1.5;
+
+        // Fraction of each computed change applied to the limit
+        private double smoothing = 0.2;
+
+        // Minimum duration and sample count of a window before the limit is recomputed
+        private Duration window = Duration.ofMillis(500);
+        private int minWindowSamples = 10;
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getRttTolerance() {
+            return rttTolerance;
+        }
+
+        public void setRttTolerance(double rttTolerance) {
+            this.rttTolerance = rttTolerance;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getMinWindowSamples() {
+            return minWindowSamples;
+        }
+
+        public void setMinWindowSamples(int minWindowSamples) {
+            this.minWindowSamples = minWindowSamples;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.actora.apigateway.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Global filter assigning every request a correlation ID.
+ *
+ * A client-supplied X-Correlation-ID is kept; otherwise one is generated. The ID is stored as an
+ * exchange attribute rather than written into the request, and {@link DownstreamHeadersFilter}
+ * adds it to the proxied request together with the identity headers, so the request headers are
+ * copied once. The ID is echoed on the response when it is committed.
+ */
+@Component
+public class CorrelationIdFilter implements GlobalFilter, Ordered {
+
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
+
+    // Exchange attribute holding the request's correlation ID
+    public static final String CORRELATION_ID_ATTR = CorrelationIdFilter.class.getName() + ".correlationId";
+
+    private final CorrelationIdGenerator generator = new CorrelationIdGenerator();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String correlationId = exchange.getRequest().getHeaders().getFirst(CORRELATION_ID_HEADER);
+        if (correlationId == null || correlationId.isEmpty()) {
+            correlationId = generator.next();
+        }
+
+        String finalCorrelationId = correlationId;
+        exchange.getAttributes().put(CORRELATION_ID_ATTR, finalCorrelationId);
+        exchange.getResponse().beforeCommit(() -> {
+            exchange.getResponse().getHeaders().set(CORRELATION_ID_HEADER, finalCorrelationId);
+            return Mono.empty();
+        });
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
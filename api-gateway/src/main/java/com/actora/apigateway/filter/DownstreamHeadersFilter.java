@@ -0,0 +1,53 @@
+package com.actora.apigateway.filter;
+
+import com.actora.apigateway.security.AuthenticatedUser;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Adds the correlation ID and the authenticated user's identity headers to proxied requests.
+ *
+ * Runs inside the routing filter's header pass instead of mutating the exchange request, so the
+ * headers are written once into the copy that is sent downstream. Identity headers supplied by
+ * the client are always dropped; they are only set from a token verified by
+ * {@link AuthenticationFilter}.
+ */
+@Component
+public class DownstreamHeadersFilter implements HttpHeadersFilter, Ordered {
+
+    @Override
+    public HttpHeaders filter(HttpHeaders input, ServerWebExchange exchange) {
+        // Runs after RemoveHopByHopHeadersFilter, whose output is a private mutable copy
+        applyTo(input, exchange);
+        return input;
+    }
+
+    /**
+     * Writes the gateway-owned headers of this exchange into {@code headers}.
+     */
+    public static void applyTo(HttpHeaders headers, ServerWebExchange exchange) {
+        headers.remove(AuthenticationFilter.HEADER_USER_ID);
+        headers.remove(AuthenticationFilter.HEADER_USER_NAME);
+        headers.remove(AuthenticationFilter.HEADER_USER_ROLES);
+
+        AuthenticatedUser user = exchange.getAttribute(AuthenticationFilter.AUTHENTICATED_USER_ATTR);
+        if (user != null) {
+            headers.set(AuthenticationFilter.HEADER_USER_ID, user.userId());
+            headers.set(AuthenticationFilter.HEADER_USER_NAME, user.username());
+            headers.set(AuthenticationFilter.HEADER_USER_ROLES, user.roles());
+        }
+
+        String correlationId = exchange.getAttribute(CorrelationIdFilter.CORRELATION_ID_ATTR);
+        if (correlationId != null) {
+            headers.set(CorrelationIdFilter.CORRELATION_ID_HEADER, correlationId);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
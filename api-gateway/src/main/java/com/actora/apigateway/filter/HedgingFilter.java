@@ -0,0 +1,356 @@
+package com.actora.apigateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import com.actora.apigateway.loadbalancer.PeakEwmaLoadBalancer;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Opt-in request hedging for idempotent GETs on {@code lb://} routes.
+ *
+ * The rest of the route's filter chain (load balancer, routing client, header filters) runs for
+ * the request; if no response has arrived after the hedge delay, it runs a second time and
+ * whichever attempt receives its response headers first is used. The slower attempt is cancelled.
+ * The second attempt tells {@link PeakEwmaLoadBalancer} which instance the first one went to, so
+ * it is sent to a different instance. The hedge delay is
+ * either fixed or tracks the configured latency percentile of the route, clamped between
+ * {@code minDelay} and {@code maxDelay}.
+ *
+ * Only the configured {@code paths} are hedged, so endpoints are opted in explicitly. The winning
+ * body is streamed to the client like any other response, so its size is not limited.
+ *
+ * Place this filter last in the route so rate limiting and the circuit breaker still apply.
+ * Routes with fewer than two instances, non-GET requests and other paths pass through unchanged;
+ * the instance count comes from the load balancer's cached instance list.
+ *
+ * Metrics: {@code gateway.hedging.fired} and {@code gateway.hedging.won} counters tagged by route.
+ */
+@Component
+public class HedgingFilter extends AbstractGatewayFilterFactory<HedgingFilter.Config> {
+
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LoadBalancerClientFactory loadBalancerClientFactory;
+    private final MeterRegistry meterRegistry;
+    private final MeterProvider<Counter> firedCounters;
+    private final MeterProvider<Counter> wonCounters;
+    private final Map<String, RouteLatency> routeLatencies = new ConcurrentHashMap<>();
+    private final Map<String, ServiceInstanceListSupplier> instanceSuppliers = new ConcurrentHashMap<>();
+
+    public HedgingFilter(LoadBalancerClientFactory loadBalancerClientFactory, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.loadBalancerClientFactory = loadBalancerClientFactory;
+        this.meterRegistry = meterRegistry;
+        this.firedCounters = Counter.builder("gateway.hedging.fired")
+                .description("Hedged requests sent because the first attempt exceeded the hedge delay")
+                .withRegistry(meterRegistry);
+        this.wonCounters = Counter.builder("gateway.hedging.won")
+                .description("Hedged requests that answered before the first attempt")
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<PathPattern> patterns = new ArrayList<>();
+        for (String path : config.getPaths()) {
+            patterns.add(PathPatternParser.defaultInstance.parse(path));
+        }
+
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            if (exchange.getRequest().getMethod() != HttpMethod.GET
+                    || route == null
+                    || !"lb".equals(route.getUri().getScheme())
+                    || !matches(patterns, exchange.getRequest().getPath().pathWithinApplication())) {
+                return chain.filter(exchange);
+            }
+
+            return instanceSupplier(route.getUri().getHost()).get()
+                    .next()
+                    .defaultIfEmpty(List.of())
+                    .flatMap(instances -> instances.size() < 2
+                            ? chain.filter(exchange)
+                            : hedge(exchange, chain, route.getId(), config));
+        };
+    }
+
+    private Mono<Void> hedge(ServerWebExchange exchange, GatewayFilterChain chain, String routeId, Config config) {
+        RouteLatency latency = routeLatencies.computeIfAbsent(routeId,
+                id -> new RouteLatency(id, config.getPercentile()));
+        Duration delay = latency.hedgeDelay(config);
+        long start = System.nanoTime();
+        AtomicBoolean decided = new AtomicBoolean();
+
+        AttemptExchange primary = new AttemptExchange(exchange, false);
+        Mono<AttemptExchange> primaryAttempt = attempt(primary, chain, decided);
+        Mono<AttemptExchange> hedgedAttempt = Mono.delay(delay)
+                .doOnNext(tick -> firedCounters.withTag("route", routeId).increment())
+                .then(Mono.defer(() -> attempt(new AttemptExchange(exchange, true), chain, decided)
+                        .contextWrite(context -> excludeInstanceOf(primary, context))));
+
+        return Mono.firstWithValue(primaryAttempt, hedgedAttempt)
+                .doOnNext(winner -> {
+                    latency.record(System.nanoTime() - start);
+                    if (winner.hedged) {
+                        wonCounters.withTag("route", routeId).increment();
+                    }
+                    winner.applyTo(exchange);
+                })
+                .then();
+    }
+
+    private ServiceInstanceListSupplier instanceSupplier(String serviceId) {
+        return instanceSuppliers.computeIfAbsent(serviceId, id -> loadBalancerClientFactory
+                .getLazyProvider(id, ServiceInstanceListSupplier.class)
+                .getIfAvailable(NoopServiceInstanceListSupplier::new));
+    }
+
+    /**
+     * Steers the hedged attempt away from the instance the primary attempt was balanced to.
+     */
+    private static Context excludeInstanceOf(AttemptExchange primary, Context context) {
+        Response<ServiceInstance> chosen = primary.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (chosen == null || !chosen.hasServer()) {
+            return context;
+        }
+        return context.put(PeakEwmaLoadBalancer.EXCLUDED_INSTANCE_CONTEXT_KEY, chosen.getServer().getInstanceId());
+    }
+
+    /**
+     * Runs the rest of the chain on an isolated copy of the exchange. Completes with the attempt
+     * if it is the first to receive a response, and empty otherwise.
+     */
+    private static Mono<AttemptExchange> attempt(AttemptExchange attempt, GatewayFilterChain chain,
+                                                 AtomicBoolean decided) {
+        return Mono.defer(() -> chain.filter(attempt).then(Mono.fromSupplier(() -> {
+            if (decided.compareAndSet(false, true)) {
+                return attempt;
+            }
+            // Lost the race after receiving headers; its body is never read
+            attempt.release();
+            return null;
+        })));
+    }
+
+    private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Exchange for one attempt: own attributes, so the load balancer and routing filter of
+     * concurrent attempts do not overwrite each other's state, and a detached response that only
+     * collects status and headers. The body stays on the downstream connection until the winning
+     * attempt is handed to the original exchange, where it is written as usual.
+     */
+    private static final class AttemptExchange extends ServerWebExchangeDecorator {
+
+        private final boolean hedged;
+        private final Map<String, Object> attributes;
+        private final AttemptResponse response;
+
+        private AttemptExchange(ServerWebExchange delegate, boolean hedged) {
+            super(delegate);
+            this.hedged = hedged;
+            this.attributes = new ConcurrentHashMap<>(delegate.getAttributes());
+            // Mutable set appended to by the load balancer filter
+            Object originalUrls = attributes.get(ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
+            if (originalUrls instanceof LinkedHashSet<?> urls) {
+                attributes.put(ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR, new LinkedHashSet<>(urls));
+            }
+            this.response = new AttemptResponse(delegate.getResponse());
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public ServerHttpResponse getResponse() {
+            return response;
+        }
+
+        private void applyTo(ServerWebExchange exchange) {
+            exchange.getAttributes().putAll(attributes);
+            ServerHttpResponse target = exchange.getResponse();
+            if (response.status != null) {
+                target.setStatusCode(response.status);
+            }
+            target.getHeaders().addAll(response.headers);
+        }
+
+        private void release() {
+            if (attributes.get(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR) instanceof Connection connection) {
+                connection.dispose();
+            }
+        }
+    }
+
+    private static final class AttemptResponse extends ServerHttpResponseDecorator {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private volatile HttpStatusCode status;
+
+        private AttemptResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public boolean setStatusCode(HttpStatusCode status) {
+            this.status = status;
+            return true;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    /**
+     * Observed latency of a route, used to derive an adaptive hedge delay.
+     */
+    private final class RouteLatency {
+
+        private final Timer timer;
+        private final double percentile;
+        private volatile long delayNanos = -1;
+        private volatile long refreshedAt;
+
+        private RouteLatency(String routeId, double percentile) {
+            this.percentile = percentile;
+            this.timer = Timer.builder("gateway.hedging.latency")
+                    .description("Latency of hedge-enabled requests, used to derive the hedge delay")
+                    .tag("route", routeId)
+                    .publishPercentiles(percentile)
+                    .register(meterRegistry);
+        }
+
+        private void record(long nanos) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        private Duration hedgeDelay(Config config) {
+            if (config.getDelay() != null) {
+                return config.getDelay();
+            }
+            long now = System.nanoTime();
+            if (delayNanos < 0 || now - refreshedAt > DELAY_REFRESH_NANOS) {
+                delayNanos = observedPercentileNanos(config);
+                refreshedAt = now;
+            }
+            return Duration.ofNanos(delayNanos);
+        }
+
+        private long observedPercentileNanos(Config config) {
+            long observed = config.getMaxDelay().toNanos();
+            for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+                if (value.percentile() == percentile && value.value() > 0) {
+                    observed = (long) value.value(TimeUnit.NANOSECONDS);
+                }
+            }
+            return Math.max(config.getMinDelay().toNanos(), Math.min(observed, config.getMaxDelay().toNanos()));
+        }
+    }
+
+    public static class Config {
+
+        // Fixed hedge delay; when unset the delay follows the route's observed latency percentile
+        private Duration delay;
+
+        // Latency percentile used for the adaptive hedge delay
+        private double percentile = 0.95;
+
+        // Bounds for the adaptive delay; maxDelay is also used until latency has been observed
+        private Duration minDelay = Duration.ofMillis(20);
+        private Duration maxDelay = Duration.ofSeconds(1);
+
+        // Path patterns (after prefix stripping) of idempotent endpoints to hedge, e.g. /users/{id}
+        private List<String> paths = new ArrayList<>();
+
+        public Duration getDelay() {
+            return delay;
+        }
+
+        public void setDelay(Duration delay) {
+            this.delay = delay;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+    }
+}
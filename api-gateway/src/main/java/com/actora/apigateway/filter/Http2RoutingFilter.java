@@ -0,0 +1,59 @@
+package com.actora.apigateway.filter;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routing filter that lets routes opt in to cleartext HTTP/2 (h2c) towards their service.
+ *
+ * Routes with {@code metadata.http2=true} are proxied over h2c with prior knowledge, so concurrent
+ * requests to an instance are multiplexed as streams over a few connections instead of each
+ * holding its own HTTP/1.1 connection. The target service must accept h2c
+ * ({@code server.http2.enabled=true} without TLS). Other routes use HTTP/1.1 as before.
+ *
+ * Replaces the default routing filter, which is disabled with
+ * {@code spring.cloud.gateway.global-filter.netty-routing.enabled=false}.
+ */
+@Component
+public class Http2RoutingFilter extends NettyRoutingFilter {
+
+    public static final String HTTP2_METADATA_KEY = "http2";
+
+    // h2c clients per route id, rebuilt when the route definition is refreshed
+    private final Map<String, RouteClient> h2cClients = new ConcurrentHashMap<>();
+
+    public Http2RoutingFilter(HttpClient httpClient,
+                              ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                              HttpClientProperties properties) {
+        super(httpClient, headersFiltersProvider, properties);
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        if (!Boolean.parseBoolean(String.valueOf(route.getMetadata().get(HTTP2_METADATA_KEY)))) {
+            return super.getHttpClient(route, exchange);
+        }
+
+        RouteClient cached = h2cClients.get(route.getId());
+        if (cached != null && cached.route() == route) {
+            return cached.client();
+        }
+        HttpClient client = super.getHttpClient(route, exchange).protocol(HttpProtocol.H2C);
+        h2cClients.put(route.getId(), new RouteClient(route, client));
+        return client;
+    }
+
+    private record RouteClient(Route route, HttpClient client) {
+    }
+}
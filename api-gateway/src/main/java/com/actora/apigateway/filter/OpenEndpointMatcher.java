@@ -0,0 +1,111 @@
+package com.actora.apigateway.filter;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Precompiled matcher for public path prefixes.
+ *
+ * Prefixes are stored in a character trie built once, so a lookup walks the request path
+ * a single time without allocating. A prefix only matches on a segment boundary:
+ * {@code /users/health} matches {@code /users/health} and {@code /users/health/live}
+ * but not {@code /users/healthz} or {@code /admin/users/health}.
+ */
+public final class OpenEndpointMatcher {
+
+    private final Node root = new Node();
+    private final boolean empty;
+
+    private OpenEndpointMatcher(Collection<String> prefixes) {
+        boolean added = false;
+        for (String prefix : prefixes) {
+            String normalized = normalize(prefix);
+            if (normalized != null) {
+                insert(normalized);
+                added = true;
+            }
+        }
+        this.empty = !added;
+    }
+
+    /**
+     * Compiles the given path prefixes. A trailing {@code /} or {@code /**} is ignored.
+     */
+    public static OpenEndpointMatcher of(Collection<String> prefixes) {
+        return new OpenEndpointMatcher(prefixes);
+    }
+
+    public boolean matches(String path) {
+        if (empty) {
+            return false;
+        }
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (node.terminal && c == '/') {
+                return true;
+            }
+            node = node.child(c);
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.terminal;
+    }
+
+    private void insert(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.getOrAddChild(prefix.charAt(i));
+        }
+        node.terminal = true;
+    }
+
+    private static String normalize(String prefix) {
+        if (prefix == null) {
+            return null;
+        }
+        String normalized = prefix.trim();
+        if (normalized.endsWith("/**")) {
+            normalized = normalized.substring(0, normalized.length() - 3);
+        }
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        if (normalized.isEmpty() && !prefix.isBlank()) {
+            // "/" or "/**" opens every path
+            return "";
+        }
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+
+        private Node child(char c) {
+            char[] k = keys;
+            for (int i = 0; i < k.length; i++) {
+                if (k[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node getOrAddChild(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            Node node = new Node();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            children[children.length - 1] = node;
+            return node;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.actora.apigateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight coalescing of identical concurrent GETs.
+ *
+ * The first request for a key (path, query and verified identity, see {@link RequestIdentityKey})
+ * goes downstream; identical requests arriving while it is in flight wait for its buffered
+ * response instead of issuing their own call. Waiters give up after {@code maxWait}, or when the
+ * leader fails or its response cannot be shared, and then go downstream themselves.
+ *
+ * Only 2xx responses are shared. The leader's body is streamed to its client as usual and copied
+ * on the way up to {@code gateway.coalescing.max-body-size}; larger bodies, including those that
+ * declare a larger Content-Length, are not shared.
+ *
+ * Metrics: {@code gateway.coalescing.collapsed} (requests answered from another request's
+ * response) and {@code gateway.coalescing.fallback} (waiters that had to go downstream), by route.
+ */
+@Component
+public class RequestCoalescingFilter extends AbstractGatewayFilterFactory<RequestCoalescingFilter.Config> {
+
+    private final Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final long maxBodyBytes;
+    private final MeterProvider<Counter> collapsedCounters;
+    private final MeterProvider<Counter> fallbackCounters;
+
+    public RequestCoalescingFilter(MeterRegistry meterRegistry,
+                                   @Value("${gateway.coalescing.max-body-size:1MB}") DataSize maxBodySize) {
+        super(Config.class);
+        this.maxBodyBytes = maxBodySize.toBytes();
+        this.collapsedCounters = Counter.builder("gateway.coalescing.collapsed")
+                .description("Requests answered with the response of an identical in-flight request")
+                .withRegistry(meterRegistry);
+        this.fallbackCounters = Counter.builder("gateway.coalescing.fallback")
+                .description("Coalesced requests that went downstream after the leader could not answer them")
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            String key = RequestIdentityKey.of(exchange);
+            Sinks.One<SharedResponse> sink = Sinks.one();
+            Sinks.One<SharedResponse> leader = inFlight.putIfAbsent(key, sink);
+            if (leader == null) {
+                return lead(exchange, chain, key, sink);
+            }
+            return follow(exchange, chain, leader, config.getMaxWait());
+        };
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, String key,
+                            Sinks.One<SharedResponse> sink) {
+        ResponseDecoratorFilter.decorate(exchange, response -> new SharingResponse(response, sink));
+        ResponseDecoratorFilter.onComplete(exchange, () -> {
+            inFlight.remove(key, sink);
+            // No-op if the response was already shared; otherwise release waiters
+            sink.tryEmitEmpty();
+        });
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain,
+                              Sinks.One<SharedResponse> leader, Duration maxWait) {
+        String routeId = routeId(exchange);
+        return leader.asMono()
+                .timeout(maxWait, Mono.empty())
+                .onErrorResume(e -> Mono.empty())
+                .flatMap(shared -> {
+                    collapsedCounters.withTag("route", routeId).increment();
+                    return write(exchange.getResponse(), shared);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    fallbackCounters.withTag("route", routeId).increment();
+                    return chain.filter(exchange);
+                }));
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body().duplicate())));
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, ByteBuffer body) {
+    }
+
+    /**
+     * Copies the leader's body as it is written and publishes it to the waiters once complete.
+     */
+    private final class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final Sinks.One<SharedResponse> sink;
+
+        private SharingResponse(ServerHttpResponse delegate, Sinks.One<SharedResponse> sink) {
+            super(delegate);
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getDelegate().getStatusCode();
+            long contentLength = getDelegate().getHeaders().getContentLength();
+            if (status == null || !status.is2xxSuccessful() || contentLength > maxBodyBytes) {
+                return super.writeWith(body);
+            }
+
+            BodyCopy copy = new BodyCopy(contentLength >= 0 ? (int) contentLength : 1024);
+            return super.writeWith(Flux.from(body).doOnNext(copy::append))
+                    .doOnSuccess(done -> {
+                        if (!copy.overflowed) {
+                            share(status, copy.toByteBuffer());
+                        }
+                    });
+        }
+
+        private void share(HttpStatusCode status, ByteBuffer body) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(getDelegate().getHeaders());
+            headers.remove(HttpHeaders.TRANSFER_ENCODING);
+            headers.remove(HttpHeaders.CONNECTION);
+            // Per-request header, set for each waiter by CorrelationIdFilter
+            headers.remove(CorrelationIdFilter.CORRELATION_ID_HEADER);
+            sink.tryEmitValue(new SharedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body));
+        }
+    }
+
+    /**
+     * Copy of a body taken while it streams through, abandoned once it exceeds the size limit.
+     */
+    private final class BodyCopy {
+
+        private ByteBuffer content;
+        private boolean overflowed;
+
+        private BodyCopy(int initialCapacity) {
+            this.content = ByteBuffer.allocate(initialCapacity);
+        }
+
+        private void append(DataBuffer chunk) {
+            int size = chunk.readableByteCount();
+            if (overflowed || content.position() + size > maxBodyBytes) {
+                overflowed = true;
+                content = null;
+                return;
+            }
+            if (content.remaining() < size) {
+                int capacity = (int) Math.min(maxBodyBytes, Math.max(content.capacity() * 2L, content.position() + (long) size));
+                content = ByteBuffer.allocate(capacity).put(content.flip());
+            }
+            chunk.toByteBuffer(chunk.readPosition(), content, content.position(), size);
+            content.position(content.position() + size);
+        }
+
+        private ByteBuffer toByteBuffer() {
+            return content.flip().asReadOnlyBuffer();
+        }
+    }
+
+    public static class Config {
+
+        // Longest a waiting request holds on for the leader before going downstream itself
+        private Duration maxWait = Duration.ofSeconds(2);
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+}
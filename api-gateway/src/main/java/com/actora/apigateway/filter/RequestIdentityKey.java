@@ -0,0 +1,32 @@
+package com.actora.apigateway.filter;
+
+import com.actora.apigateway.security.AuthenticatedUser;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Builds keys identifying "the same read" for caching and coalescing: path, query string and
+ * the user id and roles verified by {@link AuthenticationFilter}, so results are never shared
+ * across users or role sets.
+ */
+final class RequestIdentityKey {
+
+    private RequestIdentityKey() {
+        // Utility class - prevent instantiation
+    }
+
+    static String of(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        AuthenticatedUser user = exchange.getAttribute(AuthenticationFilter.AUTHENTICATED_USER_ATTR);
+        StringBuilder key = new StringBuilder(128)
+                .append(request.getURI().getRawPath());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        if (user != null) {
+            key.append('|').append(user.userId()).append('|').append(user.roles());
+        }
+        return key.toString();
+    }
+}
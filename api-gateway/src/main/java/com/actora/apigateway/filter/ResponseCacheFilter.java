@@ -0,0 +1,246 @@
+package com.actora.apigateway.filter;
+
+import com.actora.apigateway.cache.CachedResponse;
+import com.actora.apigateway.cache.ResponseCacheStore;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Route filter caching successful GET responses for read-mostly endpoints.
+ *
+ * The cache key includes the path, query string and the user id and roles verified by
+ * {@link AuthenticationFilter}, so one user's response is never served to another. Entries carry
+ * an ETag (the downstream one, or a digest of the body) and conditional requests with a matching
+ * If-None-Match are answered with 304. Responses with {@code Cache-Control: no-store/private} or
+ * {@code Set-Cookie} are not cached.
+ *
+ * Place this filter after AuthenticationFilter so the user is already known.
+ */
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private final ResponseCacheStore store;
+
+    public ResponseCacheFilter(ResponseCacheStore store) {
+        super(Config.class);
+        this.store = store;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<PathPattern> patterns = new ArrayList<>();
+        for (String path : config.getPaths()) {
+            patterns.add(PathPatternParser.defaultInstance.parse(path));
+        }
+        long ttlNanos = config.getTtl().toNanos();
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET || !matches(patterns, request.getPath().pathWithinApplication())) {
+                return chain.filter(exchange);
+            }
+
+            String key = RequestIdentityKey.of(exchange);
+            CachedResponse cached = store.get(key);
+            if (cached != null) {
+                return writeCached(exchange, cached);
+            }
+
+            exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+            ResponseDecoratorFilter.decorate(exchange, response -> new CachingResponse(response, key, ttlNanos));
+            return chain.filter(exchange);
+        };
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().putAll(cached.headers());
+        response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+
+        String ifNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && weakETag(ifNoneMatch).equals(weakETag(cached.eTag()))) {
+            store.recordNotModified();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * If-None-Match uses weak comparison, and compressed responses carry the weak form of the ETag.
+     */
+    private static String weakETag(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+        if (patterns.isEmpty()) {
+            return true;
+        }
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isCacheable(ServerHttpResponse response) {
+        HttpStatusCode status = response.getStatusCode();
+        if (status == null || status.value() != HttpStatus.OK.value()) {
+            return false;
+        }
+        HttpHeaders headers = response.getHeaders();
+        // Bodies declared too large are streamed untouched; others, including chunked ones of
+        // unknown length, are held back only up to the entry limit by CachingResponse
+        if (!store.fits(headers.getContentLength())) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null && (cacheControl.contains("no-store") || cacheControl.contains("private"))) {
+            return false;
+        }
+        return !headers.containsKey(HttpHeaders.SET_COOKIE);
+    }
+
+    private static String bodyETag(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Buffers a cacheable downstream body up to the entry limit, stores an off-heap copy and
+     * forwards it unchanged; larger bodies are streamed through once the limit is passed.
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final long ttlNanos;
+
+        private CachingResponse(ServerHttpResponse delegate, String key, long ttlNanos) {
+            super(delegate);
+            this.key = key;
+            this.ttlNanos = ttlNanos;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isCacheable(getDelegate())) {
+                return super.writeWith(body);
+            }
+            // Holds back at most one entry's worth of body, so the ETag can still be set on a
+            // cacheable one; past that the held chunks and the rest stream through uncached
+            return super.writeWith(Flux.defer(() -> {
+                BodyLimit limit = new BodyLimit();
+                return Flux.<DataBuffer>from(body)
+                        .bufferUntil(limit::exceededBy)
+                        .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                        .flatMapIterable(chunks -> {
+                            if (limit.exceeded) {
+                                return chunks;
+                            }
+                            DataBuffer joined = bufferFactory().join(chunks);
+                            cache(joined);
+                            return List.of(joined);
+                        });
+            }));
+        }
+
+        private void cache(DataBuffer joined) {
+            byte[] bytes = new byte[joined.readableByteCount()];
+            joined.toByteBuffer(joined.readPosition(), ByteBuffer.wrap(bytes), 0, bytes.length);
+
+            HttpHeaders headers = getDelegate().getHeaders();
+            String eTag = headers.getETag();
+            if (eTag == null) {
+                eTag = bodyETag(bytes);
+                headers.setETag(eTag);
+            }
+
+            ByteBuffer content = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+            HttpHeaders cachedHeaders = new HttpHeaders();
+            cachedHeaders.putAll(headers);
+            cachedHeaders.remove(HttpHeaders.TRANSFER_ENCODING);
+            cachedHeaders.remove(HttpHeaders.CONNECTION);
+            cachedHeaders.remove(CACHE_STATUS_HEADER);
+            cachedHeaders.remove(CorrelationIdFilter.CORRELATION_ID_HEADER);
+
+            store.put(key, new CachedResponse(HttpStatus.OK.value(), HttpHeaders.readOnlyHttpHeaders(cachedHeaders),
+                    eTag, content, ttlNanos));
+        }
+    }
+
+    /**
+     * Running size of a body, which stays exceeded once it passes the cache's entry limit.
+     */
+    private final class BodyLimit {
+
+        private long bytes;
+        private boolean exceeded;
+
+        private boolean exceededBy(DataBuffer chunk) {
+            bytes += chunk.readableByteCount();
+            exceeded = exceeded || !store.fits(bytes);
+            return exceeded;
+        }
+    }
+
+    public static class Config {
+
+        // Time to live of cached responses on this route
+        private Duration ttl = Duration.ofSeconds(30);
+
+        // Path patterns (after prefix stripping) to cache, e.g. /orders/statistics; empty caches every GET
+        private List<String> paths = new ArrayList<>();
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.actora.apigateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses downstream responses with gzip when the client accepts it.
+ *
+ * Compression is streamed: every body chunk is deflated and flushed as it arrives, so large
+ * responses are never buffered in full; this holds for bodies written part by part with
+ * {@code writeAndFlushWith}, such as server-sent events, as well. Responses that are already
+ * encoded, are partial (206 or Content-Range), have a content type outside
+ * {@code gateway.compression.mime-types}, or declare a Content-Length below
+ * {@code gateway.compression.min-response-size} are passed through unchanged. A compressed
+ * response's ETag is made weak, since its bytes differ from the identity encoding.
+ *
+ * Runs outside {@link ResponseDecoratorFilter} so cached and coalesced responses are stored
+ * uncompressed and encoded per client.
+ *
+ * Metrics: {@code gateway.compression.bytes.original} and {@code gateway.compression.bytes.saved}
+ * counters tagged by route and encoding.
+ */
+@Component
+public class ResponseCompressionFilter implements GlobalFilter, Ordered {
+
+    private static final String GZIP = "gzip";
+
+    private final boolean enabled;
+    private final long minResponseBytes;
+    private final int level;
+    private final List<MediaType> mimeTypes;
+    private final MeterProvider<Counter> originalBytesCounters;
+    private final MeterProvider<Counter> savedBytesCounters;
+
+    public ResponseCompressionFilter(MeterRegistry meterRegistry,
+                                     @Value("${gateway.compression.enabled:true}") boolean enabled,
+                                     @Value("${gateway.compression.min-response-size:2KB}") DataSize minResponseSize,
+                                     @Value("${gateway.compression.level:6}") int level,
+                                     @Value("${gateway.compression.mime-types:application/json,application/problem+json,text/plain,text/html,application/xml}")
+                                     List<MediaType> mimeTypes) {
+        this.enabled = enabled;
+        this.minResponseBytes = minResponseSize.toBytes();
+        this.level = level;
+        this.mimeTypes = mimeTypes;
+        this.originalBytesCounters = Counter.builder("gateway.compression.bytes.original")
+                .description("Response bytes before compression")
+                .baseUnit("bytes")
+                .withRegistry(meterRegistry);
+        this.savedBytesCounters = Counter.builder("gateway.compression.bytes.saved")
+                .description("Response bytes saved by compression")
+                .baseUnit("bytes")
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled
+                || exchange.getRequest().getMethod() == HttpMethod.HEAD
+                || !acceptsGzip(exchange.getRequest().getHeaders().get(HttpHeaders.ACCEPT_ENCODING))) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate()
+                .response(new CompressingResponse(exchange))
+                .build());
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+    }
+
+    /**
+     * True when an Accept-Encoding header lists gzip (or *) without {@code q=0}.
+     */
+    private static boolean acceptsGzip(List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String header : acceptEncoding) {
+            for (String entry : header.split(",")) {
+                String[] parts = entry.split(";");
+                String coding = parts[0].trim();
+                if (!coding.equalsIgnoreCase(GZIP) && !coding.equals("*")) {
+                    continue;
+                }
+                boolean refused = false;
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim();
+                    if (param.startsWith("q=")) {
+                        refused = isZeroQuality(param.substring(2));
+                    }
+                }
+                if (!refused) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String value) {
+        try {
+            return Double.parseDouble(value) == 0;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private boolean isCompressible(ServerHttpResponse response) {
+        HttpStatusCode status = response.getStatusCode();
+        if (status != null && (status.value() == 204 || status.value() == 206 || status.value() == 304)) {
+            return false;
+        }
+        HttpHeaders headers = response.getHeaders();
+        // Content-Range offsets refer to the identity encoding, so partial bodies stay as they are
+        if (headers.containsKey(HttpHeaders.CONTENT_ENCODING) || headers.containsKey(HttpHeaders.CONTENT_RANGE)) {
+            return false;
+        }
+        long contentLength = headers.getContentLength();
+        if (contentLength >= 0 && contentLength < minResponseBytes) {
+            return false;
+        }
+        MediaType contentType = headers.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        for (MediaType mimeType : mimeTypes) {
+            if (mimeType.isCompatibleWith(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    /**
+     * Replaces the body with its gzip encoding when the downstream response qualifies.
+     */
+    private final class CompressingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+
+        private CompressingResponse(ServerWebExchange exchange) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isCompressible(getDelegate())) {
+                return super.writeWith(body);
+            }
+
+            GzipEncoder encoder = startCompression();
+            Flux<DataBuffer> compressed = Flux.from(body)
+                    .map(encoder::encode)
+                    .concatWith(Mono.fromSupplier(encoder::finish))
+                    .doOnComplete(() -> recordSavings(encoder))
+                    .doFinally(signal -> encoder.close());
+            return super.writeWith(compressed);
+        }
+
+        /**
+         * Streaming bodies share one encoder; each part is flushed as it arrives and the trailer
+         * goes out as a final part.
+         */
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            if (!isCompressible(getDelegate())) {
+                return super.writeAndFlushWith(body);
+            }
+
+            GzipEncoder encoder = startCompression();
+            // The parts are consumed after the outer publisher completes, so the encoder is
+            // closed by the trailer part, or here only when the stream fails or is cancelled
+            Flux<Publisher<DataBuffer>> compressed = Flux.from(body)
+                    .<Publisher<DataBuffer>>map(part -> Flux.from(part).map(encoder::encode))
+                    .concatWith(Mono.fromSupplier(() -> Mono.fromSupplier(encoder::finish)
+                            .doOnSuccess(trailer -> recordSavings(encoder))
+                            .doFinally(signal -> encoder.close())))
+                    .doOnError(e -> encoder.close())
+                    .doOnCancel(encoder::close);
+            return super.writeAndFlushWith(compressed);
+        }
+
+        private GzipEncoder startCompression() {
+            HttpHeaders headers = getDelegate().getHeaders();
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            if (!headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING)) {
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            String eTag = headers.getETag();
+            if (eTag != null && !eTag.startsWith("W/")) {
+                headers.setETag("W/" + eTag);
+            }
+            return new GzipEncoder(level, bufferFactory());
+        }
+
+        private void recordSavings(GzipEncoder encoder) {
+            String routeId = routeId(exchange);
+            originalBytesCounters.withTags("route", routeId, "encoding", GZIP)
+                    .increment(encoder.bytesIn);
+            savedBytesCounters.withTags("route", routeId, "encoding", GZIP)
+                    .increment(Math.max(0, encoder.bytesIn - encoder.bytesOut));
+        }
+    }
+
+    /**
+     * Incremental gzip (RFC 1952) encoder. Each chunk is sync-flushed so the client receives
+     * data as soon as the downstream sends it; the header goes out with the first chunk.
+     *
+     * On cancellation {@link #close} can run while a chunk is still being encoded on another
+     * thread, so the methods are synchronized and the deflater is not touched once it has ended.
+     */
+    private static final class GzipEncoder {
+
+        private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+        private static final int TRAILER_SIZE = 8;
+
+        private final Deflater deflater;
+        private final CRC32 crc = new CRC32();
+        private final DataBufferFactory bufferFactory;
+        private final byte[] scratch = new byte[8192];
+        private boolean headerWritten;
+        private boolean closed;
+        private long bytesIn;
+        private long bytesOut;
+
+        private GzipEncoder(int level, DataBufferFactory bufferFactory) {
+            this.deflater = new Deflater(level, true);
+            this.bufferFactory = bufferFactory;
+        }
+
+        private synchronized DataBuffer encode(DataBuffer chunk) {
+            if (closed) {
+                DataBufferUtils.release(chunk);
+                return bufferFactory.allocateBuffer(0);
+            }
+            byte[] input = new byte[chunk.readableByteCount()];
+            chunk.read(input);
+            DataBufferUtils.release(chunk);
+
+            bytesIn += input.length;
+            crc.update(input);
+            deflater.setInput(input);
+
+            DataBuffer output = newOutput(input.length / 2 + HEADER.length);
+            drain(output, Deflater.SYNC_FLUSH);
+            return output;
+        }
+
+        private synchronized DataBuffer finish() {
+            if (closed) {
+                return bufferFactory.allocateBuffer(0);
+            }
+            deflater.finish();
+            DataBuffer output = newOutput(64);
+            drainFinished(output);
+
+            writeIntLe(output, (int) crc.getValue());
+            writeIntLe(output, (int) bytesIn);
+            bytesOut += TRAILER_SIZE;
+            return output;
+        }
+
+        private DataBuffer newOutput(int capacity) {
+            DataBuffer output = bufferFactory.allocateBuffer(capacity);
+            if (!headerWritten) {
+                output.write(HEADER);
+                bytesOut += HEADER.length;
+                headerWritten = true;
+            }
+            return output;
+        }
+
+        private void drain(DataBuffer output, int flush) {
+            int written;
+            do {
+                written = deflater.deflate(scratch, 0, scratch.length, flush);
+                output.write(scratch, 0, written);
+                bytesOut += written;
+            } while (written == scratch.length);
+        }
+
+        private void drainFinished(DataBuffer output) {
+            while (!deflater.finished()) {
+                int written = deflater.deflate(scratch);
+                output.write(scratch, 0, written);
+                bytesOut += written;
+            }
+        }
+
+        private static void writeIntLe(DataBuffer output, int value) {
+            output.write((byte) value);
+            output.write((byte) (value >>> 8));
+            output.write((byte) (value >>> 16));
+            output.write((byte) (value >>> 24));
+        }
+
+        private synchronized void close() {
+            if (!closed) {
+                closed = true;
+                deflater.end();
+            }
+        }
+    }
+}
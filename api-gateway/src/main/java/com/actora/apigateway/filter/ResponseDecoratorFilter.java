@@ -0,0 +1,106 @@
+package com.actora.apigateway.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lets route filters decorate the response body written to the client.
+ *
+ * Proxied bodies are written by {@link NettyWriteResponseFilter} to the response of the exchange
+ * it was given, which happens before any route filter runs, so a decorator a route filter installs
+ * with {@code exchange.mutate()} only sees locally generated bodies such as fallbacks. This filter
+ * runs just outside {@link NettyWriteResponseFilter} and applies the decorators registered with
+ * {@link #decorate} when the body is written, whichever filter writes it. Callbacks registered
+ * with {@link #onComplete} run once the response has been written or the exchange has ended.
+ *
+ * Runs inside {@link ResponseCompressionFilter}, so decorators see the uncompressed body.
+ */
+@Component
+public class ResponseDecoratorFilter implements GlobalFilter, Ordered {
+
+    private static final String DECORATORS_ATTR = ResponseDecoratorFilter.class.getName() + ".decorators";
+    private static final String COMPLETION_ATTR = ResponseDecoratorFilter.class.getName() + ".completion";
+
+    /**
+     * Registers a decorator applied to the response when its body is written.
+     */
+    public static void decorate(ServerWebExchange exchange, UnaryOperator<ServerHttpResponse> decorator) {
+        List<UnaryOperator<ServerHttpResponse>> decorators = exchange.getRequiredAttribute(DECORATORS_ATTR);
+        decorators.add(decorator);
+    }
+
+    /**
+     * Registers a callback run after the response has been written, or the exchange failed or was cancelled.
+     */
+    public static void onComplete(ServerWebExchange exchange, Runnable callback) {
+        List<Runnable> callbacks = exchange.getRequiredAttribute(COMPLETION_ATTR);
+        callbacks.add(callback);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        List<UnaryOperator<ServerHttpResponse>> decorators = new CopyOnWriteArrayList<>();
+        List<Runnable> callbacks = new CopyOnWriteArrayList<>();
+        exchange.getAttributes().put(DECORATORS_ATTR, decorators);
+        exchange.getAttributes().put(COMPLETION_ATTR, callbacks);
+
+        return chain.filter(exchange.mutate()
+                        .response(new DecoratedResponse(exchange.getResponse(), decorators))
+                        .build())
+                .doFinally(signal -> callbacks.forEach(Runnable::run));
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    /**
+     * Resolves the registered decorators at write time, when every route filter has run.
+     */
+    private static final class DecoratedResponse extends ServerHttpResponseDecorator {
+
+        private final List<UnaryOperator<ServerHttpResponse>> decorators;
+
+        private DecoratedResponse(ServerHttpResponse delegate, List<UnaryOperator<ServerHttpResponse>> decorators) {
+            super(delegate);
+            this.decorators = decorators;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return target().writeWith(body);
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return target().writeAndFlushWith(body);
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            return target().setComplete();
+        }
+
+        private ServerHttpResponse target() {
+            ServerHttpResponse target = getDelegate();
+            for (UnaryOperator<ServerHttpResponse> decorator : decorators) {
+                target = decorator.apply(target);
+            }
+            return target;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.actora.apigateway.loadbalancer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks outstanding requests and a peak-EWMA latency estimate for every downstream instance,
+ * fed from gateway responses and read by {@link PeakEwmaLoadBalancer}.
+ *
+ * The estimate jumps straight to any slower observation (peak) and decays towards faster ones
+ * with time constant {@code gateway.loadbalancer.decay-time}, so an instance that stalls
+ * (GC pause, overload) is penalised immediately and recovers gradually. Failed calls are
+ * observed as {@code gateway.loadbalancer.failure-penalty}. While requests are outstanding, the
+ * estimate is at least the time since the instance last completed one, so a hung instance gets
+ * more expensive instead of cheaper; only an idle instance's estimate decays, so it is probed again.
+ *
+ * New instances start at the median estimate of their service. An instance with outstanding
+ * requests but no latency sample yet costs the failure penalty per request.
+ *
+ * Per-instance gauges: {@code gateway.loadbalancer.inflight} and {@code gateway.loadbalancer.latency.ewma},
+ * removed together with the instance's state when it leaves the discovery list.
+ */
+@Component
+public class InstanceLoadTracker {
+
+    private final MeterRegistry meterRegistry;
+    private final double decayNanos;
+    private final long failurePenaltyNanos;
+    private final Map<String, InstanceLoad> loads = new ConcurrentHashMap<>();
+
+    public InstanceLoadTracker(MeterRegistry meterRegistry,
+                               @Value("${gateway.loadbalancer.decay-time:10s}") Duration decayTime,
+                               @Value("${gateway.loadbalancer.failure-penalty:1s}") Duration failurePenalty) {
+        this.meterRegistry = meterRegistry;
+        this.decayNanos = decayTime.toNanos();
+        this.failurePenaltyNanos = failurePenalty.toNanos();
+    }
+
+    public void onStart(ServiceInstance instance) {
+        loadOf(instance).start(System.nanoTime());
+    }
+
+    public void onComplete(ServiceInstance instance, long latencyNanos, boolean failed) {
+        InstanceLoad load = loads.get(key(instance));
+        if (load == null) {
+            // Evicted while the request was in flight
+            return;
+        }
+        load.complete(failed ? Math.max(latencyNanos, failurePenaltyNanos) : latencyNanos, System.nanoTime());
+    }
+
+    /**
+     * Load score of the instance: latency estimate weighted by outstanding requests. Lower is better.
+     */
+    public double cost(ServiceInstance instance) {
+        return loadOf(instance).cost(System.nanoTime(), failurePenaltyNanos);
+    }
+
+    /**
+     * Drops the state and gauges of instances of {@code serviceId} that are no longer in {@code instances}.
+     */
+    public void retain(String serviceId, List<ServiceInstance> instances) {
+        Set<String> current = new HashSet<>();
+        for (ServiceInstance instance : instances) {
+            current.add(key(instance));
+        }
+        loads.entrySet().removeIf(entry -> {
+            InstanceLoad load = entry.getValue();
+            if (!load.serviceId.equals(serviceId) || current.contains(entry.getKey())) {
+                return false;
+            }
+            load.meters.forEach(meterRegistry::remove);
+            return true;
+        });
+    }
+
+    private InstanceLoad loadOf(ServiceInstance instance) {
+        InstanceLoad existing = loads.get(key(instance));
+        if (existing != null) {
+            return existing;
+        }
+        return loads.computeIfAbsent(key(instance), key -> {
+            InstanceLoad load = new InstanceLoad(instance.getServiceId(), decayNanos,
+                    medianLatencyNanos(instance.getServiceId()), System.nanoTime());
+            load.meters.add(Gauge.builder("gateway.loadbalancer.inflight", load, l -> l.inflight.get())
+                    .description("Outstanding gateway requests per downstream instance")
+                    .tag("service", instance.getServiceId())
+                    .tag("instance", key)
+                    .register(meterRegistry));
+            load.meters.add(Gauge.builder("gateway.loadbalancer.latency.ewma", load,
+                            l -> l.latencyNanos(System.nanoTime()) / 1_000_000.0)
+                    .description("Peak-EWMA latency estimate per downstream instance in milliseconds")
+                    .tag("service", instance.getServiceId())
+                    .tag("instance", key)
+                    .register(meterRegistry));
+            return load;
+        });
+    }
+
+    private double medianLatencyNanos(String serviceId) {
+        long now = System.nanoTime();
+        List<Double> estimates = new ArrayList<>();
+        for (InstanceLoad load : loads.values()) {
+            if (load.serviceId.equals(serviceId)) {
+                estimates.add(load.latencyNanos(now));
+            }
+        }
+        if (estimates.isEmpty()) {
+            return 0.0;
+        }
+        Collections.sort(estimates);
+        return estimates.get(estimates.size() / 2);
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort();
+    }
+
+    private static final class InstanceLoad {
+
+        private final String serviceId;
+        private final double decayNanos;
+        private final AtomicInteger inflight = new AtomicInteger();
+        private final List<Meter> meters = new CopyOnWriteArrayList<>();
+        private double ewmaNanos;
+        private long lastUpdateNanos;
+        // Start of the current busy period, or the last completion within it
+        private long progressNanos;
+
+        private InstanceLoad(String serviceId, double decayNanos, double initialEwmaNanos, long now) {
+            this.serviceId = serviceId;
+            this.decayNanos = decayNanos;
+            this.ewmaNanos = initialEwmaNanos;
+            this.lastUpdateNanos = now;
+        }
+
+        private synchronized void start(long now) {
+            if (inflight.getAndIncrement() <= 0) {
+                progressNanos = now;
+            }
+        }
+
+        private synchronized void complete(long latencyNanos, long now) {
+            inflight.decrementAndGet();
+            if (latencyNanos > ewmaNanos) {
+                ewmaNanos = latencyNanos;
+            } else {
+                double weight = Math.exp(-(now - lastUpdateNanos) / decayNanos);
+                ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+            }
+            lastUpdateNanos = now;
+            progressNanos = now;
+        }
+
+        private synchronized double latencyNanos(long now) {
+            if (inflight.get() > 0) {
+                // Busy: a request that has not come back yet is at least this slow
+                return Math.max(ewmaNanos, now - progressNanos);
+            }
+            // Idle instances drift towards zero so they get retried
+            return ewmaNanos * Math.exp(-(now - lastUpdateNanos) / decayNanos);
+        }
+
+        private synchronized double cost(long now, long failurePenaltyNanos) {
+            int pending = Math.max(inflight.get(), 0);
+            if (ewmaNanos == 0 && pending > 0) {
+                // No sample yet but already loaded: do not let a cold or hung instance win every draw
+                return (double) failurePenaltyNanos * pending;
+            }
+            return latencyNanos(now) * (pending + 1);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.actora.apigateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency-aware load balancer: picks two random instances and routes to the one with the lower
+ * {@link InstanceLoadTracker#cost} (power of two choices over peak-EWMA x outstanding requests).
+ * Random pairing keeps a slow instance from being starved of the probes it needs to recover.
+ *
+ * A request whose Reactor context carries {@link #EXCLUDED_INSTANCE_CONTEXT_KEY} (an instance id)
+ * is not sent to that instance unless it is the only one, which is how hedged attempts avoid the
+ * instance their primary attempt went to.
+ */
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    public static final String EXCLUDED_INSTANCE_CONTEXT_KEY = PeakEwmaLoadBalancer.class.getName() + ".excludedInstance";
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final InstanceLoadTracker loadTracker;
+    private final String serviceId;
+    // Last instance list seen; the tracker drops departed instances when it changes
+    private volatile List<ServiceInstance> lastInstances = List.of();
+
+    public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                InstanceLoadTracker loadTracker,
+                                String serviceId) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.loadTracker = loadTracker;
+        this.serviceId = serviceId;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return Mono.deferContextual(context -> supplier.get(request).next()
+                .map(instances -> select(instances, context.getOrDefault(EXCLUDED_INSTANCE_CONTEXT_KEY, null))));
+    }
+
+    private Response<ServiceInstance> select(List<ServiceInstance> instances, String excludedInstanceId) {
+        if (instances != lastInstances) {
+            lastInstances = instances;
+            loadTracker.retain(serviceId, instances);
+        }
+        if (excludedInstanceId != null && instances.size() > 1) {
+            List<ServiceInstance> remaining = instances.stream()
+                    .filter(instance -> !excludedInstanceId.equals(instance.getInstanceId()))
+                    .toList();
+            if (!remaining.isEmpty()) {
+                instances = remaining;
+            }
+        }
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return new DefaultResponse(loadTracker.cost(a) <= loadTracker.cost(b) ? a : b);
+    }
+}
@@ -0,0 +1,50 @@
+package com.actora.apigateway.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Access-log settings bound from {@code gateway.access-log.*}.
+ *
+ * Sampling rates (0.0 - 1.0) are looked up from most to least specific:
+ * {@code <routeId>.<statusClass>}, {@code <routeId>}, {@code <statusClass>}, {@code default}.
+ * Status classes are written as {@code 2xx}, {@code 4xx}, {@code 5xx} and so on.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.access-log")
+public class AccessLogProperties {
+
+    private boolean enabled = true;
+
+    // Ring buffer capacity, rounded up to a power of two; records are dropped when full
+    private int bufferSize = 8192;
+
+    private Map<String, Double> sampling = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Map<String, Double> getSampling() {
+        return sampling;
+    }
+
+    public void setSampling(Map<String, Double> sampling) {
+        this.sampling = sampling;
+    }
+}
@@ -0,0 +1,15 @@
+package com.actora.apigateway.logging;
+
+/**
+ * One access-log entry, captured on the request thread and formatted by {@link AccessLogWriter}.
+ */
+public record AccessLogRecord(
+        long timestampMillis,
+        String method,
+        String path,
+        String routeId,
+        int status,
+        long durationNanos,
+        String clientAddress,
+        String correlationId) {
+}
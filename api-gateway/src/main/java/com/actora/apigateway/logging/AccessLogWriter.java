@@ -0,0 +1,146 @@
+package com.actora.apigateway.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous, sampled access log.
+ *
+ * Request threads only take the sampling decision and enqueue an {@link AccessLogRecord} into a
+ * lock-free ring buffer; a single background thread formats each record as one logfmt line and
+ * writes it to the {@code com.actora.apigateway.accesslog} logger. Records that do not fit in the
+ * buffer are dropped and counted in {@code gateway.access-log.dropped}.
+ */
+@Component
+public class AccessLogWriter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("com.actora.apigateway.accesslog");
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final String DEFAULT_KEY = "default";
+
+    private final AccessLogProperties properties;
+    private final AccessLogRingBuffer<AccessLogRecord> buffer;
+    private final Counter droppedCounter;
+
+    // Per-route sampling rates indexed by status / 100, resolved once per route id
+    private final Map<String, double[]> routeRates = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private Thread drainThread;
+
+    public AccessLogWriter(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.buffer = new AccessLogRingBuffer<>(properties.getBufferSize());
+        this.droppedCounter = Counter.builder("gateway.access-log.dropped")
+                .description("Access-log records dropped because the ring buffer was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        drainThread = new Thread(this::drain, "access-log-writer");
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (drainThread != null) {
+            LockSupport.unpark(drainThread);
+            drainThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Decides whether a response with the given route and status should be logged.
+     */
+    public boolean isSampled(String routeId, int status) {
+        if (!running) {
+            return false;
+        }
+        double rate = routeRates.computeIfAbsent(routeId, this::resolveRates)[statusIndex(status)];
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    /**
+     * Enqueues a record without blocking; drops it if the buffer is full.
+     */
+    public void submit(AccessLogRecord record) {
+        if (!buffer.offer(record)) {
+            droppedCounter.increment();
+        }
+    }
+
+    private void drain() {
+        StringBuilder line = new StringBuilder(256);
+        while (running) {
+            if (!drainAvailable(line)) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        drainAvailable(line);
+    }
+
+    private boolean drainAvailable(StringBuilder line) {
+        boolean drained = false;
+        AccessLogRecord record;
+        while ((record = buffer.poll()) != null) {
+            drained = true;
+            line.setLength(0);
+            format(record, line);
+            accessLog.info(line.toString());
+        }
+        return drained;
+    }
+
+    private static void format(AccessLogRecord record, StringBuilder line) {
+        line.append("ts=").append(Instant.ofEpochMilli(record.timestampMillis()))
+                .append(" method=").append(record.method())
+                .append(" path=").append(record.path())
+                .append(" route=").append(record.routeId())
+                .append(" status=").append(record.status())
+                .append(" duration_ms=").append(record.durationNanos() / 1_000_000)
+                .append('.').append(String.format("%03d", (record.durationNanos() / 1_000) % 1_000))
+                .append(" client=").append(record.clientAddress())
+                .append(" correlation_id=").append(record.correlationId());
+    }
+
+    private double[] resolveRates(String routeId) {
+        Map<String, Double> sampling = properties.getSampling();
+        double defaultRate = sampling.getOrDefault(DEFAULT_KEY, 1.0);
+        double routeRate = sampling.getOrDefault(routeId, Double.NaN);
+
+        double[] rates = new double[6];
+        for (int statusClass = 0; statusClass < rates.length; statusClass++) {
+            String classKey = statusClass + "xx";
+            Double rate = sampling.get(routeId + "." + classKey);
+            if (rate == null) {
+                rate = Double.isNaN(routeRate) ? sampling.getOrDefault(classKey, defaultRate) : routeRate;
+            }
+            rates[statusClass] = rate;
+        }
+        return rates;
+    }
+
+    private static int statusIndex(int status) {
+        int statusClass = status / 100;
+        return statusClass >= 1 && statusClass <= 5 ? statusClass : 0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.actora.apigateway.metrics;
+
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers for the gateway, exported through {@code /actuator/prometheus}.
+ *
+ * <ul>
+ *   <li>{@code gateway.requests} - end-to-end request latency tagged by route, method and status class</li>
+ *   <li>{@code gateway.jwt.validation} - time spent in the JWT validation stage of AuthenticationFilter</li>
+ * </ul>
+ * Both publish percentile histograms plus the configured SLO buckets.
+ */
+@Component
+public class GatewayMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_INVALID = "invalid";
+    public static final String OUTCOME_REJECTED = "rejected";
+    public static final String OUTCOME_REVOKED = "revoked";
+
+    private static final String[] STATUS_CLASSES = {"UNKNOWN", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final MeterProvider<Timer> requestTimers;
+    private final MeterProvider<Timer> jwtValidationTimers;
+
+    public GatewayMetrics(MeterRegistry meterRegistry,
+                          @Value("${gateway.metrics.slo:50ms,100ms,250ms,500ms,1s}") List<Duration> slo) {
+        Duration[] serviceLevelObjectives = slo.toArray(Duration[]::new);
+
+        this.requestTimers = Timer.builder("gateway.requests")
+                .description("Gateway request latency by route")
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(serviceLevelObjectives)
+                .withRegistry(meterRegistry);
+
+        this.jwtValidationTimers = Timer.builder("gateway.jwt.validation")
+                .description("Time spent validating access tokens in AuthenticationFilter")
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(serviceLevelObjectives)
+                .withRegistry(meterRegistry);
+    }
+
+    public void recordRequest(String routeId, String method, int status, long durationNanos) {
+        requestTimers.withTags("route", routeId, "method", method, "status", statusClass(status))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordJwtValidation(String outcome, long durationNanos) {
+        jwtValidationTimers.withTag("outcome", outcome)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Maps an HTTP status code to its class label, e.g. 404 to {@code 4xx}.
+     */
+    public static String statusClass(int status) {
+        int statusClass = status / 100;
+        return statusClass >= 1 && statusClass <= 5 ? STATUS_CLASSES[statusClass] : STATUS_CLASSES[0];
+    }
+}
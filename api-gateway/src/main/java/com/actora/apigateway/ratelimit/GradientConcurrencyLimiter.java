@@ -0,0 +1,160 @@
+package com.actora.apigateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive concurrency limit for one route, following the gradient algorithm of Netflix
+ * concurrency-limits.
+ *
+ * Completed requests are grouped into sample windows. For each window the average latency is
+ * compared with a slowly moving long-term average: while latency stays within the tolerance of
+ * the long-term average the limit grows by roughly {@code sqrt(limit)}, and as latency rises (a
+ * queue is building up downstream) the limit shrinks proportionally. A window containing a
+ * failed request shrinks the limit multiplicatively. The limit does not grow while the route is
+ * using less than half of it, so an idle route cannot build up a limit it has never exercised.
+ *
+ * Nothing on the request path takes a lock: acquiring a slot is a CAS loop on the in-flight
+ * counter, and a release adds its sample to striped counters. The release that closes a window
+ * recomputes the limit; a concurrent one that finds the window already being closed leaves its
+ * sample for the next window.
+ */
+public final class GradientConcurrencyLimiter {
+
+    // Weight of each window in the long-term latency average, roughly a 100 window horizon
+    private static final double LONG_RTT_ALPHA = 2.0 / 101;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int minWindowSamples;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Current sample window, filled concurrently by releases
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private volatile boolean windowDropped;
+    private volatile long windowStart;
+
+    // Held by the release closing the window; longRttNanos is only touched while holding it
+    private final AtomicBoolean closingWindow = new AtomicBoolean();
+    private double longRttNanos;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double rttTolerance, double smoothing,
+                                      long windowNanos, int minWindowSamples, long nowNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = windowNanos;
+        this.minWindowSamples = minWindowSamples;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+        this.windowStart = nowNanos;
+    }
+
+    /**
+     * Takes a slot if fewer than {@link #limit()} requests are in flight.
+     *
+     * @return the number of requests in flight including this one, or {@code -1} if rejected
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot without contributing a latency sample, e.g. for a cancelled request.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Releases a slot and records the request's outcome.
+     *
+     * @param rttNanos     time from acquiring the slot to completion
+     * @param inFlightSeen requests in flight when the slot was acquired
+     * @param dropped      whether the request failed in a way that indicates overload
+     */
+    public void release(long rttNanos, int inFlightSeen, boolean dropped, long nowNanos) {
+        inFlight.decrementAndGet();
+        onSample(rttNanos, inFlightSeen, dropped, nowNanos);
+    }
+
+    private void onSample(long rttNanos, int inFlightSeen, boolean dropped, long nowNanos) {
+        if (dropped) {
+            windowDropped = true;
+        } else {
+            windowRttSum.add(rttNanos);
+            windowSamples.increment();
+        }
+        if (windowMaxInFlight.get() < inFlightSeen) {
+            windowMaxInFlight.accumulateAndGet(inFlightSeen, Math::max);
+        }
+
+        if (nowNanos - windowStart < windowNanos
+                || (windowSamples.sum() < minWindowSamples && !windowDropped)
+                || !closingWindow.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            closeWindow(nowNanos);
+        } finally {
+            closingWindow.set(false);
+        }
+    }
+
+    private void closeWindow(long nowNanos) {
+        // Samples added while this runs are counted towards the next window
+        windowStart = nowNanos;
+        boolean wasDropped = windowDropped;
+        windowDropped = false;
+        long samples = windowSamples.sumThenReset();
+        long rttSum = windowRttSum.sumThenReset();
+        int maxInFlight = windowMaxInFlight.getAndSet(0);
+
+        double current = limit;
+        double newLimit = current;
+        if (wasDropped) {
+            newLimit = current * DROP_BACKOFF;
+        } else if (samples > 0) {
+            double shortRtt = (double) rttSum / samples;
+            longRttNanos = longRttNanos == 0 ? shortRtt : longRttNanos + (shortRtt - longRttNanos) * LONG_RTT_ALPHA;
+            // Let the baseline recover quickly once latency drops well below it
+            if (longRttNanos > shortRtt * 2) {
+                longRttNanos *= 0.95;
+            }
+
+            if (maxInFlight >= current / 2) {
+                double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRttNanos / shortRtt));
+                double target = current * gradient + Math.sqrt(current);
+                newLimit = current * (1 - smoothing) + target * smoothing;
+            }
+        }
+        limit = Math.max(minLimit, Math.min(newLimit, maxLimit));
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,154 @@
+package com.actora.apigateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * In-process token-bucket {@link org.springframework.cloud.gateway.filter.ratelimit.RateLimiter}
+ * used by the {@code RequestRateLimiter} route filter; it needs no Redis.
+ *
+ * Buckets are kept per route and key in a bounded cache and expire after being idle. With
+ * {@code gateway.rate-limit.cluster-sync.enabled=true} the configured rates are treated as
+ * cluster-wide limits: each replica enforces its share, based on the number of gateway instances
+ * currently registered in Eureka.
+ *
+ * Route arguments are bound from {@code local-rate-limiter.*}, e.g.
+ * {@code args.local-rate-limiter.replenish-rate=50}.
+ */
+@Primary
+@Component
+public class LocalTokenBucketRateLimiter extends AbstractRateLimiter<LocalTokenBucketRateLimiter.Config> {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalTokenBucketRateLimiter.class);
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    private final Config defaultConfig = new Config();
+    private final Cache<String, TokenBucket> buckets;
+    private final MeterProvider<Counter> requestCounters;
+    private final DiscoveryClient discoveryClient;
+    private final String serviceId;
+    private final boolean clusterSync;
+    private volatile int replicas = 1;
+
+    public LocalTokenBucketRateLimiter(ConfigurationService configurationService,
+                                       MeterRegistry meterRegistry,
+                                       DiscoveryClient discoveryClient,
+                                       @Value("${spring.application.name}") String serviceId,
+                                       @Value("${gateway.rate-limit.max-keys:100000}") long maxKeys,
+                                       @Value("${gateway.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                                       @Value("${gateway.rate-limit.cluster-sync.enabled:false}") boolean clusterSync) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.requestCounters = Counter.builder("gateway.rate-limit.requests")
+                .description("Requests evaluated by the rate limiter")
+                .withRegistry(meterRegistry);
+        this.discoveryClient = discoveryClient;
+        this.serviceId = serviceId;
+        this.clusterSync = clusterSync;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+
+        int share = replicas;
+        double tokensPerSecond = (double) config.getReplenishRate() / share;
+        int capacity = Math.max(config.getRequestedTokens(), ceilDiv(config.getBurstCapacity(), share));
+        long now = System.nanoTime();
+
+        TokenBucket bucket = buckets.get(routeId + '|' + id, key -> new TokenBucket(capacity, now));
+        long remaining = bucket.tryConsume(config.getRequestedTokens(), tokensPerSecond, capacity, now);
+        boolean allowed = remaining >= 0;
+
+        requestCounters.withTags(
+                        "route", routeId,
+                        "key_type", id.startsWith(UserKeyResolver.USER_KEY_PREFIX) ? "user" : "ip",
+                        "result", allowed ? "allowed" : "rejected")
+                .increment();
+
+        return Mono.just(new Response(allowed, Map.of(
+                REMAINING_HEADER, String.valueOf(Math.max(remaining, 0)),
+                REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+                BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()))));
+    }
+
+    /**
+     * Refreshes this replica's share of the cluster-wide limit on every discovery heartbeat.
+     */
+    @EventListener
+    public void onHeartbeat(HeartbeatEvent event) {
+        if (!clusterSync) {
+            return;
+        }
+        int instances = Math.max(1, discoveryClient.getInstances(serviceId).size());
+        if (instances != replicas) {
+            log.info("Rate limits now shared across {} gateway replicas", instances);
+            replicas = instances;
+        }
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+
+    public static class Config {
+
+        // Tokens added to each bucket per second
+        private int replenishRate = 10;
+
+        // Maximum tokens a bucket can hold (allowed burst)
+        private int burstCapacity = 20;
+
+        // Tokens taken by a single request
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public void setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+        }
+    }
+}
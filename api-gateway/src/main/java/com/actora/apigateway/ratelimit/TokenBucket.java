@@ -0,0 +1,33 @@
+package com.actora.apigateway.ratelimit;
+
+/**
+ * Token bucket for a single rate-limit key. Each bucket is guarded by its own monitor,
+ * so contention is limited to requests sharing the same key.
+ */
+final class TokenBucket {
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(double initialTokens, long nowNanos) {
+        this.tokens = initialTokens;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * Refills the bucket for the elapsed time and tries to take {@code requested} tokens.
+     *
+     * @return the remaining whole tokens if allowed, or {@code -1} if the request is rejected
+     */
+    synchronized long tryConsume(int requested, double tokensPerSecond, int capacity, long nowNanos) {
+        double elapsedSeconds = (nowNanos - lastRefillNanos) / 1_000_000_000.0;
+        tokens = Math.min(capacity, tokens + elapsedSeconds * tokensPerSecond);
+        lastRefillNanos = nowNanos;
+
+        if (tokens < requested) {
+            return -1;
+        }
+        tokens -= requested;
+        return (long) tokens;
+    }
+}
@@ -0,0 +1,38 @@
+package com.actora.apigateway.ratelimit;
+
+import com.actora.apigateway.filter.AuthenticationFilter;
+import com.actora.apigateway.security.AuthenticatedUser;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Rate-limit key resolver: the userId verified by {@link AuthenticationFilter}, or the client's
+ * remote IP for unauthenticated routes. The identity is read from the exchange attribute rather
+ * than the X-User-Id header so a client cannot pick its own bucket.
+ */
+@Primary
+@Component("userKeyResolver")
+public class UserKeyResolver implements KeyResolver {
+
+    static final String USER_KEY_PREFIX = "user:";
+    static final String IP_KEY_PREFIX = "ip:";
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        AuthenticatedUser user = exchange.getAttribute(AuthenticationFilter.AUTHENTICATED_USER_ATTR);
+        if (user != null) {
+            return Mono.just(USER_KEY_PREFIX + user.userId());
+        }
+
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return Mono.empty();
+        }
+        return Mono.just(IP_KEY_PREFIX + remoteAddress.getAddress().getHostAddress());
+    }
+}
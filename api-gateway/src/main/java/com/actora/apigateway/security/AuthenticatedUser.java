@@ -0,0 +1,15 @@
+package com.actora.apigateway.security;
+
+/**
+ * Identity extracted from a verified access token, already formatted as the
+ * header values forwarded to downstream services.
+ *
+ * @param userId          value for the X-User-Id header
+ * @param username        value for the X-User-Name header
+ * @param roles           comma-separated value for the X-User-Roles header
+ * @param issuedAtMillis  token issue time ({@code iat} claim) in epoch milliseconds, 0 if absent
+ * @param expiresAtMillis token expiry ({@code exp} claim) in epoch milliseconds
+ */
+public record AuthenticatedUser(String userId, String username, String roles,
+                                long issuedAtMillis, long expiresAtMillis) {
+}
@@ -0,0 +1,192 @@
+package com.actora.apigateway.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verification keys published by auth-service at {@code /auth/.well-known/jwks.json}, by kid.
+ *
+ * The key set is fetched in the background and swapped as an immutable map, so resolving a key
+ * during verification is a single lookup and never waits on auth-service. An unknown kid
+ * triggers an early refresh (at most once per {@code min-refresh-interval}), and so does an empty
+ * key set, so a freshly deployed auth-service's first key is picked up before it starts signing.
+ * When keys are withdrawn a {@link SigningKeysRemovedEvent} is published.
+ *
+ * Keys added with {@link #addLocalKey} are trusted alongside the published set until removed;
+ * the gateway uses one for the synthetic tokens of its startup warmup.
+ */
+@Component
+public class JwksKeyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyCache.class);
+
+    private final WebClient webClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration refreshInterval;
+    private final long minRefreshIntervalMillis;
+    private final Sinks.Many<Boolean> refreshRequests = Sinks.many().unicast().onBackpressureBuffer();
+    private final Map<String, PublicKey> localKeys = new ConcurrentHashMap<>();
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefreshMillis;
+    private Disposable subscription;
+
+    public JwksKeyCache(WebClient.Builder webClientBuilder,
+                        ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                        ApplicationEventPublisher eventPublisher,
+                        @Value("${gateway.auth.jwks.uri:http://auth-service/auth/.well-known/jwks.json}") String jwksUri,
+                        @Value("${gateway.auth.jwks.refresh-interval:2m}") Duration refreshInterval,
+                        @Value("${gateway.auth.jwks.min-refresh-interval:10s}") Duration minRefreshInterval) {
+        this.webClient = webClientBuilder
+                .baseUrl(jwksUri)
+                .filter(loadBalancerFunction)
+                .build();
+        this.eventPublisher = eventPublisher;
+        this.refreshInterval = refreshInterval;
+        this.minRefreshIntervalMillis = minRefreshInterval.toMillis();
+    }
+
+    @PostConstruct
+    public void start() {
+        Flux<Boolean> scheduled = Flux.interval(Duration.ZERO, refreshInterval).map(tick -> true);
+        Flux<Boolean> untilLoaded = Flux.interval(Duration.ofMillis(minRefreshIntervalMillis))
+                .filter(tick -> keys.isEmpty())
+                .map(tick -> true);
+        subscription = Flux.merge(scheduled, untilLoaded, refreshRequests.asFlux())
+                .onBackpressureDrop()
+                .concatMap(forced -> refresh(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * The public key for {@code kid}, or {@code null} if it is not (yet) known.
+     */
+    public PublicKey get(String kid) {
+        PublicKey key = keys.get(kid);
+        if (key == null && !localKeys.isEmpty()) {
+            key = localKeys.get(kid);
+        }
+        if (key == null && System.currentTimeMillis() - lastRefreshMillis > minRefreshIntervalMillis) {
+            // A freshly rotated key, or a forged kid; either way, fetch at most once per interval
+            lastRefreshMillis = System.currentTimeMillis();
+            refreshRequests.tryEmitNext(true);
+        }
+        return key;
+    }
+
+    /**
+     * Trusts {@code key} for tokens signed with {@code kid} until {@link #removeLocalKey} is called.
+     */
+    public void addLocalKey(String kid, PublicKey key) {
+        localKeys.put(kid, key);
+    }
+
+    /**
+     * Stops trusting a key added with {@link #addLocalKey}, dropping tokens verified with it.
+     */
+    public void removeLocalKey(String kid) {
+        if (localKeys.remove(kid) != null) {
+            eventPublisher.publishEvent(new SigningKeysRemovedEvent(Set.of(kid)));
+        }
+    }
+
+    private Mono<Void> refresh() {
+        return webClient.get()
+                .retrieve()
+                .bodyToMono(JwkSet.class)
+                .doOnNext(this::apply)
+                .doOnError(e -> log.warn("Could not refresh JWKS: {}", e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private void apply(JwkSet jwkSet) {
+        Map<String, PublicKey> loaded = new HashMap<>();
+        if (jwkSet.keys() != null) {
+            for (Jwk jwk : jwkSet.keys()) {
+                if (jwk == null || !"RSA".equals(jwk.kty()) || jwk.kid() == null) {
+                    continue;
+                }
+                // One unusable entry must not discard the rest of the set
+                try {
+                    loaded.put(jwk.kid(), toPublicKey(jwk));
+                } catch (IllegalStateException e) {
+                    log.warn("Skipping JWK {}: {}", jwk.kid(), e.getMessage());
+                }
+            }
+        }
+
+        Set<String> removed = new HashSet<>(keys.keySet());
+        removed.removeAll(loaded.keySet());
+        Set<String> added = new HashSet<>(loaded.keySet());
+        added.removeAll(keys.keySet());
+
+        keys = Map.copyOf(loaded);
+        lastRefreshMillis = System.currentTimeMillis();
+        if (!added.isEmpty()) {
+            log.info("Loaded JWT verification keys {}", added);
+        }
+        if (!removed.isEmpty()) {
+            log.info("JWT verification keys withdrawn {}", removed);
+            eventPublisher.publishEvent(new SigningKeysRemovedEvent(Set.copyOf(removed)));
+        }
+    }
+
+    private static PublicKey toPublicKey(Jwk jwk) {
+        if (jwk.n() == null || jwk.e() == null) {
+            throw new IllegalStateException("Invalid JWK " + jwk.kid() + ": missing modulus or exponent");
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            RSAPublicKeySpec spec = new RSAPublicKeySpec(
+                    new BigInteger(1, decoder.decode(jwk.n())),
+                    new BigInteger(1, decoder.decode(jwk.e())));
+            return KeyFactory.getInstance("RSA").generatePublic(spec);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid JWK " + jwk.kid(), e);
+        }
+    }
+
+    /**
+     * Published when verification keys disappear from the JWKS.
+     */
+    public record SigningKeysRemovedEvent(Set<String> keyIds) {
+    }
+
+    private record JwkSet(List<Jwk> keys) {
+    }
+
+    private record Jwk(String kty, String kid, String n, String e) {
+    }
+}
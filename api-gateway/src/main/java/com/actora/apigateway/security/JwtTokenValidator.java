@@ -0,0 +1,66 @@
+package com.actora.apigateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.List;
+
+/**
+ * Validates JWT access tokens issued by auth-service.
+ *
+ * Tokens are RS256-signed; the verification key is chosen by the token's {@code kid} from the
+ * keys auth-service publishes, held by {@link JwksKeyCache}. Key rotation therefore needs no
+ * gateway restart or configuration change. The parser is built once; {@link JwtParser} is
+ * immutable and thread-safe.
+ */
+@Component
+public class JwtTokenValidator {
+
+    private final JwtParser parser;
+
+    public JwtTokenValidator(JwksKeyCache jwksKeyCache) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = header.getKeyId() != null ? jwksKeyCache.get(header.getKeyId()) : null;
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Verifies the token signature and expiry and returns its claims.
+     */
+    public Claims validateToken(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Verifies the token and extracts the identity forwarded to downstream services.
+     */
+    public AuthenticatedUser authenticate(String token) {
+        Claims claims = validateToken(token);
+        return new AuthenticatedUser(
+                String.valueOf(claims.get("userId")),
+                claims.getSubject(),
+                String.join(",", getRoles(claims)),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L,
+                claims.getExpiration().getTime());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> getRoles(Claims claims) {
+        return claims.get("roles", List.class);
+    }
+}
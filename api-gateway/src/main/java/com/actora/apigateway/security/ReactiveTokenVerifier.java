@@ -0,0 +1,120 @@
+package com.actora.apigateway.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reactive entry point for access-token verification.
+ *
+ * Cached verifications are always answered inline. In {@link Mode#OFFLOAD} mode a cache miss
+ * (signature check and claims parsing) runs on a dedicated bounded pool instead of the Netty
+ * event loop; when that pool's queue is full the returned Mono fails with
+ * {@link RejectedExecutionException} so the caller can shed the request. Every request, cached
+ * or not, is checked against the {@link TokenRevocationList}.
+ *
+ * Pool utilisation is exported as {@code executor.*} meters tagged {@code name=gateway.jwt.verification}.
+ */
+@Component
+public class ReactiveTokenVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTokenVerifier.class);
+    private static final String EXECUTOR_NAME = "gateway.jwt.verification";
+
+    public enum Mode {
+        /** Verify on the calling (event-loop) thread. */
+        INLINE,
+        /** Verify cache misses on the dedicated verification pool. */
+        OFFLOAD
+    }
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList revocationList;
+    private final Mode mode;
+    private final ThreadPoolExecutor executor;
+    private final Scheduler scheduler;
+    private final Counter rejectedCounter;
+
+    public ReactiveTokenVerifier(VerifiedTokenCache verifiedTokenCache,
+                                 TokenRevocationList revocationList,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${gateway.auth.verification.mode:inline}") Mode mode,
+                                 @Value("${gateway.auth.verification.threads:0}") int threads,
+                                 @Value("${gateway.auth.verification.queue-capacity:1000}") int queueCapacity) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revocationList = revocationList;
+        this.mode = mode;
+        this.rejectedCounter = Counter.builder(EXECUTOR_NAME + ".rejected")
+                .description("Token verifications rejected because the verification queue was full")
+                .register(meterRegistry);
+
+        if (mode == Mode.OFFLOAD) {
+            int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+            this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    new CustomizableThreadFactory("jwt-verify-"),
+                    new ThreadPoolExecutor.AbortPolicy());
+            new ExecutorServiceMetrics(executor, EXECUTOR_NAME, List.of()).bindTo(meterRegistry);
+            this.scheduler = Schedulers.fromExecutorService(executor, EXECUTOR_NAME);
+            log.info("JWT verification offloaded to {} threads (queue capacity {})", poolSize, queueCapacity);
+        } else {
+            this.executor = null;
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * Resolves the identity carried by the token. Errors with the validator's exception for
+     * invalid tokens, {@link TokenRevokedException} for revoked ones, or with
+     * {@code RejectedExecutionException} when verification is saturated.
+     */
+    public Mono<AuthenticatedUser> verify(String token) {
+        // Checked on every request: cached verifications may predate the revocation
+        return resolve(token).map(user -> {
+            if (revocationList.isRevoked(user)) {
+                throw new TokenRevokedException("Token has been revoked");
+            }
+            return user;
+        });
+    }
+
+    private Mono<AuthenticatedUser> resolve(String token) {
+        if (mode == Mode.INLINE) {
+            return Mono.fromCallable(() -> verifiedTokenCache.getOrVerify(token));
+        }
+
+        AuthenticatedUser cached = verifiedTokenCache.getIfPresent(token);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        return Mono.fromCallable(() -> verifiedTokenCache.getOrVerify(token))
+                .subscribeOn(scheduler)
+                // Continue the filter chain off the verification pool so it stays free for crypto
+                .publishOn(Schedulers.parallel())
+                .doOnError(RejectedExecutionException.class, e -> rejectedCounter.increment());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.dispose();
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.actora.apigateway.security;
+
+import java.util.Collection;
+
+/**
+ * Immutable bloom filter over user ids, sized for a false-positive rate. Lets the common case
+ * (user not revoked) be answered with a few bit probes and no map lookup.
+ */
+final class RevocationBloomFilter {
+
+    static final RevocationBloomFilter EMPTY = new RevocationBloomFilter(new long[1], 1);
+
+    private final long[] bits;
+    private final int numBits;
+    private final int numHashes;
+
+    private RevocationBloomFilter(long[] bits, int numHashes) {
+        this.bits = bits;
+        this.numBits = bits.length * Long.SIZE;
+        this.numHashes = numHashes;
+    }
+
+    static RevocationBloomFilter of(Collection<String> keys, int expectedEntries, double falsePositiveRate) {
+        if (keys.isEmpty()) {
+            return EMPTY;
+        }
+        int n = Math.max(expectedEntries, keys.size());
+        long optimalBits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE / Long.SIZE, (optimalBits + Long.SIZE - 1) / Long.SIZE);
+        int numHashes = Math.max(1, (int) Math.round((double) words * Long.SIZE / n * Math.log(2)));
+
+        RevocationBloomFilter filter = new RevocationBloomFilter(new long[words], numHashes);
+        for (String key : keys) {
+            filter.put(key);
+        }
+        return filter;
+    }
+
+    boolean mightContain(String key) {
+        long hash = mix(key.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void put(String key) {
+        long hash = mix(key.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, numBits);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    // MurmurHash3 64-bit finalizer
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb93fe53b5a63L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,89 @@
+package com.actora.apigateway.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access-token revocations published by auth-service, checked on every authenticated request.
+ *
+ * A revocation rejects all tokens of a user issued before the second of the revocation and is
+ * dropped once those tokens have expired. The {@code iat} claim only has second precision, so a
+ * token issued in the same second as the revocation, typically a re-login right after logout,
+ * stays valid. Lookups go through a bloom filter first, so requests
+ * from users without a revocation cost a few bit probes; candidates are confirmed against the
+ * exact map. The filter is rebuilt whenever the set of revoked users changes.
+ *
+ * Metrics: {@code gateway.auth.revocations} (active revocations) and
+ * {@code gateway.auth.revocations.rejected} (requests rejected with a revoked token).
+ */
+@Component
+public class TokenRevocationList {
+
+    private final Map<String, Revocation> revocations = new ConcurrentHashMap<>();
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final Counter rejectedCounter;
+    private volatile RevocationBloomFilter bloomFilter = RevocationBloomFilter.EMPTY;
+
+    public TokenRevocationList(MeterRegistry meterRegistry,
+                               @Value("${gateway.auth.revocation.expected-entries:10000}") int expectedEntries,
+                               @Value("${gateway.auth.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rejectedCounter = Counter.builder("gateway.auth.revocations.rejected")
+                .description("Requests rejected because their access token was revoked")
+                .register(meterRegistry);
+        Gauge.builder("gateway.auth.revocations", revocations, Map::size)
+                .description("Active access-token revocations")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(AuthenticatedUser user) {
+        if (!bloomFilter.mightContain(user.userId())) {
+            return false;
+        }
+        Revocation revocation = revocations.get(user.userId());
+        if (revocation == null || user.issuedAtMillis() >= truncateToSecond(revocation.revokedAtMillis())) {
+            return false;
+        }
+        rejectedCounter.increment();
+        return true;
+    }
+
+    private static long truncateToSecond(long millis) {
+        return millis - Math.floorMod(millis, 1000L);
+    }
+
+    /**
+     * Merges revocations from the feed and drops expired ones. Called from a single thread.
+     */
+    void update(Collection<Revocation> updates, long nowMillis) {
+        boolean changed = false;
+        for (Revocation update : updates) {
+            Revocation current = revocations.get(update.userId());
+            if (current == null || update.revokedAtMillis() > current.revokedAtMillis()) {
+                revocations.put(update.userId(), update);
+                changed |= current == null;
+            }
+        }
+        changed |= revocations.values().removeIf(revocation -> revocation.expiresAtMillis() <= nowMillis);
+
+        if (changed) {
+            bloomFilter = RevocationBloomFilter.of(revocations.keySet(), expectedEntries, falsePositiveRate);
+        }
+    }
+
+    /**
+     * Tokens of {@code userId} issued before the second of {@code revokedAtMillis} are revoked until
+     * {@code expiresAtMillis}.
+     */
+    record Revocation(String userId, long revokedAtMillis, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.actora.apigateway.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Keeps {@link TokenRevocationList} in sync with auth-service's revocation feed.
+ *
+ * Polls {@code /internal/revocations} in the background; requests never wait on auth-service.
+ * The first poll loads every active revocation, later polls only those recorded since the last
+ * one seen, minus a small overlap for writes committed out of order across auth-service
+ * instances. Merging is idempotent, so re-delivered entries are harmless. Requests carry the
+ * shared {@code internal-api.token} that auth-service requires on its internal endpoints.
+ */
+@Component
+public class TokenRevocationSync {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationSync.class);
+    private static final long OVERLAP_MILLIS = 5_000;
+    private static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+
+    private final TokenRevocationList revocationList;
+    private final WebClient webClient;
+    private final boolean enabled;
+    private final Duration refreshInterval;
+    private long cursorMillis;
+    private Disposable subscription;
+
+    public TokenRevocationSync(TokenRevocationList revocationList,
+                               WebClient.Builder webClientBuilder,
+                               ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                               @Value("${gateway.auth.revocation.enabled:true}") boolean enabled,
+                               @Value("${gateway.auth.revocation.service-uri:http://auth-service}") String serviceUri,
+                               @Value("${gateway.auth.revocation.refresh-interval:2s}") Duration refreshInterval,
+                               @Value("${internal-api.token:}") String internalApiToken) {
+        this.revocationList = revocationList;
+        this.webClient = webClientBuilder
+                .baseUrl(serviceUri)
+                .defaultHeader(INTERNAL_TOKEN_HEADER, internalApiToken)
+                .filter(loadBalancerFunction)
+                .build();
+        this.enabled = enabled;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        subscription = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> poll(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Mono<Void> poll() {
+        long since = Math.max(0, cursorMillis - OVERLAP_MILLIS);
+        return webClient.get()
+                .uri(uri -> uri.path("/internal/revocations").queryParam("since", since).build())
+                .retrieve()
+                .bodyToMono(RevocationFeed.class)
+                .doOnNext(this::apply)
+                .doOnError(e -> log.warn("Could not refresh token revocations: {}", e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private void apply(RevocationFeed feed) {
+        List<TokenRevocationList.Revocation> revocations = feed.data() == null ? List.of() : feed.data().stream()
+                .map(entry -> new TokenRevocationList.Revocation(entry.userId(), entry.revokedAt(), entry.expiresAt()))
+                .toList();
+        for (TokenRevocationList.Revocation revocation : revocations) {
+            cursorMillis = Math.max(cursorMillis, revocation.revokedAtMillis());
+        }
+        revocationList.update(revocations, System.currentTimeMillis());
+    }
+
+    // ApiResponse envelope returned by auth-service; other fields are ignored
+    private record RevocationFeed(List<RevocationEntry> data) {
+    }
+
+    private record RevocationEntry(String userId, long revokedAt, long expiresAt) {
+    }
+}
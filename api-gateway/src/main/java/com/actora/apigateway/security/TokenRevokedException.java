@@ -0,0 +1,13 @@
+package com.actora.apigateway.security;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Thrown for a validly signed access token that was revoked by auth-service.
+ */
+public class TokenRevokedException extends JwtException {
+
+    public TokenRevokedException(String message) {
+        super(message);
+    }
+}
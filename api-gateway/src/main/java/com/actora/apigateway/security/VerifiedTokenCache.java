@@ -0,0 +1,105 @@
+package com.actora.apigateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Bounded cache of already-verified access tokens.
+ *
+ * Entries are keyed by the SHA-256 digest of the token (the raw token is never kept)
+ * and expire at the earlier of the token's {@code exp} claim and the configured max TTL.
+ * Hit, miss and eviction counts are published as {@code cache.*} meters tagged
+ * {@code cache=gateway.verified-tokens}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final String CACHE_NAME = "gateway.verified-tokens";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtTokenValidator jwtTokenValidator;
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public VerifiedTokenCache(JwtTokenValidator jwtTokenValidator,
+                              MeterRegistry meterRegistry,
+                              @Value("${gateway.auth.token-cache.max-size:10000}") long maxSize,
+                              @Value("${gateway.auth.token-cache.max-ttl:5m}") Duration maxTtl) {
+        this.jwtTokenValidator = jwtTokenValidator;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(maxTtl.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached identity for the token, verifying and caching it on a miss.
+     * Invalid tokens propagate the validator's exception and are never cached.
+     */
+    public AuthenticatedUser getOrVerify(String token) {
+        return cache.get(digest(token), key -> jwtTokenValidator.authenticate(token));
+    }
+
+    /**
+     * Returns the cached identity for the token without verifying it, or {@code null} on a miss.
+     */
+    public AuthenticatedUser getIfPresent(String token) {
+        return cache.getIfPresent(digest(token));
+    }
+
+    /**
+     * Drops every cached verification once auth-service withdraws a signing key, so tokens
+     * signed with it stop being accepted immediately.
+     */
+    @EventListener
+    public void onSigningKeysRemoved(JwksKeyCache.SigningKeysRemovedEvent event) {
+        cache.invalidateAll();
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    /**
+     * Expires each entry at the token's own expiry, capped at the configured max TTL.
+     */
+    private record TokenExpiry(long maxTtlNanos) implements Expiry<String, AuthenticatedUser> {
+
+        @Override
+        public long expireAfterCreate(String key, AuthenticatedUser user, long currentTime) {
+            long untilExpiry = Duration.ofMillis(user.expiresAtMillis() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, AuthenticatedUser user, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, AuthenticatedUser user, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.actora.apigateway.warmup;
+
+import com.actora.apigateway.security.JwksKeyCache;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.filter.FilterDefinition;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.factory.GatewayFilterFactory;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.predicate.PredicateDefinition;
+import org.springframework.cloud.gateway.handler.predicate.RoutePredicateFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.gateway.route.RouteDefinitionRouteLocator;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the gateway up before it is reported UP to Eureka.
+ *
+ * The instance registers as STARTING ({@code eureka.instance.initial-status}). Once the application
+ * is ready, every route with a Path predicate is called repeatedly through the gateway's own port,
+ * so the Netty server, the global filters, the route's filters (including AuthenticationFilter)
+ * and the routing filter all run before real traffic arrives. As a global filter, this class
+ * re-dispatches those requests to a copy of their route that points at a local stub server, so no
+ * service is called. The copies are built from the route definitions without the filters that
+ * keep state shared with real traffic ({@code RequestRateLimiter}, {@code CircuitBreaker},
+ * {@code HedgingFilter} and {@code ResponseCacheFilter}), so warmup neither drains rate-limit
+ * buckets, feeds the circuit breakers, lowers hedge delays with stub latencies nor caches stub
+ * responses. Warmup requests are recognised by a per-process secret header from a loopback
+ * address and marked with {@link #WARMUP_ATTR}, which the access log, request and JWT metrics and
+ * the concurrency limiter's latency samples check to leave them out. Protected routes are called with a synthetic token signed by a
+ * throwaway key that {@link JwksKeyCache} trusts only while the warmup runs.
+ *
+ * The status is set to UP when the warmup finishes or {@code gateway.warmup.timeout} elapses.
+ * Metrics: {@code gateway.warmup.duration}.
+ */
+@Component
+public class GatewayWarmup implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(GatewayWarmup.class);
+
+    // Exchange attribute marking warmup requests, so filters can keep them out of learned state
+    public static final String WARMUP_ATTR = GatewayWarmup.class.getName() + ".warmup";
+
+    private static final String WARMUP_HEADER = "X-Gateway-Warmup";
+    private static final String STUB_BODY = "{\"warmup\":true}";
+
+    // Route filters left out of the stub routes because their state is shared with real traffic:
+    // rate-limit buckets, breaker windows, hedge delays learnt from latencies and cached responses
+    private static final Set<String> SHARED_STATE_FILTERS =
+            Set.of("RequestRateLimiter", "CircuitBreaker", "HedgingFilter", "ResponseCacheFilter");
+
+    private final RouteDefinitionLocator routeDefinitionLocator;
+    private final WebClient.Builder webClientBuilder;
+    private final JwksKeyCache jwksKeyCache;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+    private final ObjectProvider<FilteringWebHandler> filteringWebHandler;
+    private final List<RoutePredicateFactory> predicateFactories;
+    private final List<GatewayFilterFactory> filterFactories;
+    private final GatewayProperties gatewayProperties;
+    private final ConfigurationService configurationService;
+    private final boolean enabled;
+    private final int requestsPerRoute;
+    private final int concurrency;
+    private final Duration timeout;
+
+    // Stub copies of the routes by id; only populated while a warmup runs
+    private final Map<String, Route> stubRoutes = new ConcurrentHashMap<>();
+    private volatile String secret;
+    private volatile URI stubUri;
+
+    public GatewayWarmup(RouteDefinitionLocator routeDefinitionLocator,
+                         WebClient.Builder webClientBuilder,
+                         JwksKeyCache jwksKeyCache,
+                         MeterRegistry meterRegistry,
+                         ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+                         ObjectProvider<FilteringWebHandler> filteringWebHandler,
+                         List<RoutePredicateFactory> predicateFactories,
+                         List<GatewayFilterFactory> filterFactories,
+                         GatewayProperties gatewayProperties,
+                         ConfigurationService configurationService,
+                         @Value("${gateway.warmup.enabled:true}") boolean enabled,
+                         @Value("${gateway.warmup.requests-per-route:200}") int requestsPerRoute,
+                         @Value("${gateway.warmup.concurrency:8}") int concurrency,
+                         @Value("${gateway.warmup.timeout:30s}") Duration timeout) {
+        this.routeDefinitionLocator = routeDefinitionLocator;
+        this.webClientBuilder = webClientBuilder;
+        this.jwksKeyCache = jwksKeyCache;
+        this.meterRegistry = meterRegistry;
+        this.applicationInfoManager = applicationInfoManager;
+        this.filteringWebHandler = filteringWebHandler;
+        this.predicateFactories = predicateFactories;
+        this.filterFactories = filterFactories;
+        this.gatewayProperties = gatewayProperties;
+        this.configurationService = configurationService;
+        this.enabled = enabled;
+        this.requestsPerRoute = requestsPerRoute;
+        this.concurrency = concurrency;
+        this.timeout = timeout;
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        Integer port = event.getApplicationContext().getEnvironment().getProperty("local.server.port", Integer.class);
+        if (!enabled || port == null) {
+            markUp();
+            return;
+        }
+
+        try {
+            warmup(port).subscribe();
+        } catch (RuntimeException e) {
+            log.warn("Gateway warmup could not start: {}", e.getMessage());
+            markUp();
+        }
+    }
+
+    private Mono<Long> warmup(int port) {
+        long start = System.nanoTime();
+        DisposableServer stub = startStub();
+        KeyPair keyPair = generateKeyPair();
+        String kid = "gateway-warmup-" + UUID.randomUUID();
+        jwksKeyCache.addLocalKey(kid, keyPair.getPublic());
+        String token = syntheticToken(kid, keyPair.getPrivate());
+
+        byte[] secretBytes = new byte[32];
+        new SecureRandom().nextBytes(secretBytes);
+        stubUri = URI.create("http://127.0.0.1:" + stub.port());
+        secret = Base64.getUrlEncoder().withoutPadding().encodeToString(secretBytes);
+        WebClient client = webClientBuilder.clone().baseUrl("http://127.0.0.1:" + port).build();
+
+        return routeDefinitionLocator.getRouteDefinitions()
+                .collectList()
+                .flatMap(definitions -> stubRoutes(definitions)
+                        .doOnNext(route -> stubRoutes.put(route.getId(), route))
+                        .then(Mono.just(definitions)))
+                .flatMapIterable(definitions -> definitions)
+                .mapNotNull(GatewayWarmup::samplePath)
+                .collectList()
+                .flatMap(paths -> Flux.range(0, requestsPerRoute)
+                        .concatMapIterable(i -> paths)
+                        .flatMap(path -> call(client, path, token), concurrency)
+                        .count()
+                        .doOnNext(count -> log.info("Gateway warmup sent {} requests over {} routes in {} ms",
+                                count, paths.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))))
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    log.warn("Gateway warmup did not complete: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .doFinally(signal -> {
+                    secret = null;
+                    stubRoutes.clear();
+                    jwksKeyCache.removeLocalKey(kid);
+                    stub.dispose();
+                    Timer.builder("gateway.warmup.duration")
+                            .description("Time spent warming up the gateway before reporting UP")
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    markUp();
+                });
+    }
+
+    private Mono<Integer> call(WebClient client, String path, String token) {
+        return client.get()
+                .uri(path)
+                .header(WARMUP_HEADER, secret)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+                .onErrorResume(e -> {
+                    log.debug("Warmup request to {} failed: {}", path, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String current = secret;
+        if (current == null || exchange.getAttribute(WARMUP_ATTR) != null) {
+            // Not warming up, or already re-dispatched to the stub route
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (!current.equals(request.getHeaders().getFirst(WARMUP_HEADER))
+                || remoteAddress == null
+                || remoteAddress.getAddress() == null
+                || !remoteAddress.getAddress().isLoopbackAddress()) {
+            return chain.filter(exchange);
+        }
+
+        exchange.getAttributes().put(WARMUP_ATTR, Boolean.TRUE);
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        Route stub = route != null ? stubRoutes.get(route.getId()) : null;
+        if (stub == null) {
+            // Route added after the warmup started; never let a warmup request reach a service
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return exchange.getResponse().setComplete();
+        }
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, stub);
+        // Runs a new chain with the stub route's filters; this filter passes it through
+        return filteringWebHandler.getObject().handle(exchange);
+    }
+
+    /**
+     * Copies of the routes pointing at the stub, built like the real ones minus the shared-state filters.
+     */
+    private Flux<Route> stubRoutes(List<RouteDefinition> definitions) {
+        List<RouteDefinition> stubDefinitions = definitions.stream()
+                .map(this::stubDefinition)
+                .toList();
+        RouteDefinitionLocator stubLocator = () -> Flux.fromIterable(stubDefinitions);
+        return new RouteDefinitionRouteLocator(stubLocator, predicateFactories, filterFactories,
+                gatewayProperties, configurationService).getRoutes();
+    }
+
+    private RouteDefinition stubDefinition(RouteDefinition definition) {
+        RouteDefinition stub = new RouteDefinition();
+        stub.setId(definition.getId());
+        stub.setUri(stubUri);
+        stub.setOrder(definition.getOrder());
+        stub.setPredicates(definition.getPredicates());
+        stub.setMetadata(definition.getMetadata());
+        List<FilterDefinition> filters = definition.getFilters().stream()
+                .filter(filter -> !SHARED_STATE_FILTERS.contains(filter.getName()))
+                .toList();
+        stub.setFilters(filters);
+        return stub;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 3;
+    }
+
+    private void markUp() {
+        ApplicationInfoManager manager = applicationInfoManager.getIfAvailable();
+        if (manager != null) {
+            manager.setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+        }
+    }
+
+    private static DisposableServer startStub() {
+        // Accepts HTTP/1.1 and h2c so routes proxied over HTTP/2 are warmed up as well
+        return HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .handle((request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .sendString(Mono.just(STUB_BODY)))
+                .bindNow();
+    }
+
+    private String syntheticToken(String kid, PrivateKey privateKey) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setHeaderParam("kid", kid)
+                .setSubject("gateway-warmup")
+                .claim("userId", "gateway-warmup")
+                .claim("roles", List.of("ROLE_USER"))
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + timeout.toMillis() + TimeUnit.MINUTES.toMillis(1)))
+                .signWith(privateKey, SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate warmup signing key", e);
+        }
+    }
+
+    /**
+     * A concrete request path matching the route's first Path pattern, or {@code null}.
+     */
+    private static String samplePath(RouteDefinition definition) {
+        for (PredicateDefinition predicate : definition.getPredicates()) {
+            if ("Path".equalsIgnoreCase(predicate.getName()) && !predicate.getArgs().isEmpty()) {
+                String pattern = predicate.getArgs().values().iterator().next();
+                return pattern.replace("/**", "/warmup")
+                        .replaceAll("\\{[^}]*}", "1")
+                        .replace("*", "warmup");
+            }
+        }
+        return null;
+    }
+}
@@ -1,6 +1,7 @@
 package com.actora.authservice.client;
 
 import com.actora.common.dto.ApiResponse;
+import feign.Request;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -20,6 +21,12 @@ public interface UserServiceClient {
     @GetMapping("/users/{id}")
     ApiResponse<UserDto> getUserById(@PathVariable("id") Long id);
 
+    /**
+     * Same as {@link #getUserById(Long)}, with connect and read timeouts for this call only.
+     */
+    @GetMapping("/users/{id}")
+    ApiResponse<UserDto> getUserById(@PathVariable("id") Long id, Request.Options options);
+
     @GetMapping("/users/email/{email}")
     ApiResponse<UserDto> getUserByEmail(@PathVariable("email") String email);
 
@@ -1,6 +1,7 @@
 package com.actora.authservice.client;
 
 import com.actora.common.dto.ApiResponse;
+import feign.Request;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.openfeign.FallbackFactory;
@@ -31,6 +32,11 @@ public class UserServiceClientFallbackFactory implements FallbackFactory<UserSer
                 return ApiResponse.error("User Service unavailable");
             }
 
+            @Override
+            public ApiResponse<UserDto> getUserById(Long id, Request.Options options) {
+                return getUserById(id);
+            }
+
             @Override
             public ApiResponse<UserDto> getUserByEmail(String email) {
                 log.warn("Fallback: Cannot get user by email from user-service. Email: {}", email);
@@ -0,0 +1,36 @@
+package com.actora.authservice.controller;
+
+import com.actora.authservice.dto.RevocationEntry;
+import com.actora.authservice.security.InternalApiAuthenticationFilter;
+import com.actora.authservice.service.TokenRevocationService;
+import com.actora.common.dto.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Service-to-service revocation feed, polled by the API gateways. Callers authenticate with the
+ * shared {@code internal-api.token} (see {@link InternalApiAuthenticationFilter}).
+ */
+@RestController
+@RequestMapping("/internal/revocations")
+@RequiredArgsConstructor
+@Tag(name = "Internal", description = "Service-to-service APIs")
+public class RevocationController {
+
+    private final TokenRevocationService tokenRevocationService;
+
+    @GetMapping
+    @Operation(summary = "Revocation feed", description = "Active access-token revocations recorded after the given time")
+    public ResponseEntity<ApiResponse<List<RevocationEntry>>> revocations(
+            @RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(ApiResponse.success(tokenRevocationService.revocationsSince(since)));
+    }
+}
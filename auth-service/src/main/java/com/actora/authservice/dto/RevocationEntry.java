@@ -0,0 +1,20 @@
+package com.actora.authservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Revocation published to the gateways: access tokens of {@code userId} issued at or before
+ * {@code revokedAt} are rejected until {@code expiresAt}. Times are epoch milliseconds.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevocationEntry {
+    private String userId;
+    private long revokedAt;
+    private long expiresAt;
+}
@@ -0,0 +1,35 @@
+package com.actora.authservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Revocation of all access tokens a user was issued up to {@code revokedAt}.
+ * Kept until {@code expiresAt}, when every such token has expired on its own.
+ */
+@Entity
+@Table(name = "access_revocations", indexes = @Index(name = "idx_access_revocations_revoked_at", columnList = "revoked_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccessRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The {@code userId} claim of the revoked tokens.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
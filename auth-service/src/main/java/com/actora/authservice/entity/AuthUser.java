@@ -47,6 +47,12 @@ public class AuthUser implements UserDetails {
     @Column(nullable = false)
     private String password;
 
+    /**
+     * Last full name seen from user-service, used when the profile cannot be fetched in time.
+     */
+    @Column(name = "full_name", length = 200)
+    private String fullName;
+
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "auth_user_id"))
     @Enumerated(EnumType.STRING)
@@ -6,8 +6,15 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
+/**
+ * Refresh token record, keyed by the SHA-256 digest of the token.
+ *
+ * The token itself is never stored, so the table cannot be used to replay sessions, and lookups
+ * go through a fixed-width 32-byte index. Rows of the former {@code refresh_tokens} table, which
+ * held raw tokens, are converted by {@code RefreshTokenStorageMigration}.
+ */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_token_hashes")
 @Data
 @Builder
 @NoArgsConstructor
@@ -18,8 +25,8 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 500)
-    private String token;
+    @Column(name = "token_hash", nullable = false, unique = true, length = 32)
+    private byte[] tokenHash;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
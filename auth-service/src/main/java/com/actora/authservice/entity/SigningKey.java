@@ -0,0 +1,52 @@
+package com.actora.authservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * RSA key pair used to sign JWTs, shared by all auth-service instances.
+ *
+ * A key is published in the JWKS as soon as it is created, used for signing from
+ * {@code activatesAt} (so gateways have fetched it by then), and dropped at {@code expiresAt},
+ * after the last token it signed has expired.
+ */
+@Entity
+@Table(name = "signing_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SigningKey {
+
+    @Id
+    @Column(length = 64)
+    private String kid;
+
+    /**
+     * Position in the rotation sequence; unique, so instances racing to create the same key
+     * cannot both succeed. Null for keys created before the sequence existed.
+     */
+    @Column(unique = true)
+    private Long generation;
+
+    /**
+     * X.509 (SubjectPublicKeyInfo) encoding, Base64.
+     */
+    @Column(name = "public_key", nullable = false, length = 1024)
+    private String publicKey;
+
+    /**
+     * PKCS#8 encoding, encrypted by SigningKeyEncryption.
+     */
+    @Column(name = "private_key", nullable = false, length = 4096)
+    @ToString.Exclude
+    private String privateKey;
+
+    @Column(name = "activates_at", nullable = false)
+    private Instant activatesAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,19 @@
+package com.actora.authservice.repository;
+
+import com.actora.authservice.entity.AccessRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface AccessRevocationRepository extends JpaRepository<AccessRevocation, Long> {
+    List<AccessRevocation> findByRevokedAtAfterAndExpiresAtAfter(Instant since, Instant now);
+
+    @Modifying
+    @Query("DELETE FROM AccessRevocation r WHERE r.expiresAt < :now")
+    void deleteExpired(Instant now);
+}
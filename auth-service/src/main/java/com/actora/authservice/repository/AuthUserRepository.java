@@ -2,6 +2,8 @@ package com.actora.authservice.repository;
 
 import com.actora.authservice.entity.AuthUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,7 +11,16 @@ import java.util.Optional;
 @Repository
 public interface AuthUserRepository extends JpaRepository<AuthUser, Long> {
     Optional<AuthUser> findByUsername(String username);
+
+    // User and roles in one query instead of a second select for the role collection
+    @Query("SELECT u FROM AuthUser u LEFT JOIN FETCH u.roles WHERE u.username = :username")
+    Optional<AuthUser> findWithRolesByUsername(String username);
+
     Optional<AuthUser> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Modifying
+    @Query("UPDATE AuthUser u SET u.fullName = :fullName WHERE u.id = :id")
+    void updateFullName(Long id, String fullName);
 }
@@ -1,21 +1,81 @@
 package com.actora.authservice.security;
 
+import com.actora.authservice.entity.AuthUser;
 import com.actora.authservice.repository.AuthUserRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+
+/**
+ * Loads users for authentication, with their roles fetched in the same query.
+ *
+ * Loaded users are kept in a short-lived, size-bounded cache, so repeated logins of the same
+ * user do not hit the database. The cached {@link AuthUser} is a detached snapshot and must be
+ * treated as read-only; code that changes a user's password, roles or stored full name must
+ * call {@link #evict(String)}.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final String CACHE_NAME = "auth.user-details";
 
     private final AuthUserRepository authUserRepository;
+    private final Cache<String, AuthUser> cache;
+
+    public CustomUserDetailsService(AuthUserRepository authUserRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${user-details-cache.max-size:10000}") long maxSize,
+                                    @Value("${user-details-cache.ttl:30s}") Duration ttl) {
+        this.authUserRepository = authUserRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return authUserRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        // Unknown usernames are not cached
+        AuthUser user = cache.get(username, key -> authUserRepository.findWithRolesByUsername(key).orElse(null));
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
+        return user;
+    }
+
+    /**
+     * Drops the cached user so the next lookup reads the current password, roles and full name.
+     */
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    /**
+     * Stores a password hash re-encoded with the current algorithm and cost after a successful login.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        AuthUser authUser = authUserRepository.findWithRolesByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + user.getUsername()));
+        authUser.setPassword(newPassword);
+        AuthUser saved = authUserRepository.save(authUser);
+        evict(user.getUsername());
+        log.info("Upgraded password hash for user: {}", user.getUsername());
+        return saved;
     }
 }
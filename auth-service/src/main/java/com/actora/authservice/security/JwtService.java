@@ -2,26 +2,28 @@ package com.actora.authservice.security;
 
 import com.actora.authservice.entity.AuthUser;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final SigningKeyService signingKeyService;
+    private final JwtParser parser;
 
     @Value("${jwt.access-token-expiration}")
     private long accessTokenExpiration;
@@ -29,10 +31,26 @@ public class JwtService {
     @Value("${jwt.refresh-token-expiration}")
     private long refreshTokenExpiration;
 
+    public JwtService(SigningKeyService signingKeyService) {
+        this.signingKeyService = signingKeyService;
+        // Verification keys are looked up by the token's kid among the published keys
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = header.getKeyId() != null ? signingKeyService.publicKey(header.getKeyId()) : null;
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
     public String generateAccessToken(AuthUser user) {
         Map<String, Object> claims = new HashMap<>();
-        // Use userId (from user-service) if available, otherwise use auth id
-        claims.put("userId", user.getUserId() != null ? user.getUserId() : user.getId());
+        claims.put("userId", tokenUserId(user));
         claims.put("authId", user.getId()); // Keep auth ID for reference
         claims.put("email", user.getEmail());
         claims.put("roles", user.getRoles().stream()
@@ -42,20 +60,43 @@ public class JwtService {
         return buildToken(claims, user.getUsername(), accessTokenExpiration);
     }
 
+    /**
+     * The {@code userId} claim: the user-service id if available, otherwise the auth id.
+     */
+    public Long tokenUserId(AuthUser user) {
+        return user.getUserId() != null ? user.getUserId() : user.getId();
+    }
+
     public String generateRefreshToken(AuthUser user) {
         return buildToken(new HashMap<>(), user.getUsername(), refreshTokenExpiration);
     }
 
     private String buildToken(Map<String, Object> extraClaims, String subject, long expiration) {
+        SigningKeyService.ActiveKey signingKey = signingKeyService.currentKey();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
                 .setClaims(extraClaims)
                 .setSubject(subject)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey.privateKey(), SignatureAlgorithm.RS256)
                 .compact();
     }
 
+    /**
+     * Verifies the token's signature and expiry with a single parse.
+     *
+     * @return the token's claims, or empty if the token is invalid or expired
+     */
+    public Optional<TokenClaims> validate(String token) {
+        try {
+            return Optional.of(TokenClaims.of(extractAllClaims(token)));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     public String extractUsername(String token) {
         return extractAllClaims(token).getSubject();
     }
@@ -70,31 +111,18 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token) {
-        try {
-            Claims claims = extractAllClaims(token);
-            return !claims.getExpiration().before(new Date());
-        } catch (JwtException | IllegalArgumentException e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
-            return false;
-        }
+        // The parser rejects expired tokens
+        return validate(token).isPresent();
     }
 
     public boolean isTokenValid(String token, String username) {
-        final String tokenUsername = extractUsername(token);
-        return (tokenUsername.equals(username)) && isTokenValid(token);
+        return validate(token)
+                .map(claims -> claims.username().equals(username))
+                .orElse(false);
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public long getAccessTokenExpiration() {
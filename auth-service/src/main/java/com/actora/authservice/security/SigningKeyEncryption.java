@@ -0,0 +1,81 @@
+package com.actora.authservice.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Encrypts signing private keys before they are stored, with AES-GCM under a key derived from
+ * {@code jwt.signing.key-encryption-secret}, which lives outside the database.
+ *
+ * The secret must be the same on every instance and across restarts, or stored keys cannot be
+ * read back. Without one, a random per-process key is used: keys still never reach the database
+ * in the clear, but they are only readable by the instance that created them, which suits a
+ * single instance on an in-memory database only.
+ */
+@Slf4j
+@Component
+public class SigningKeyEncryption {
+
+    private static final String PREFIX = "v1:";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+
+    public SigningKeyEncryption(@Value("${jwt.signing.key-encryption-secret:}") String secret) throws GeneralSecurityException {
+        byte[] material;
+        if (secret.isEmpty()) {
+            log.warn("jwt.signing.key-encryption-secret is not set; stored signing keys are readable by this process only");
+            material = new byte[32];
+            random.nextBytes(material);
+        } else {
+            material = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        }
+        this.key = new SecretKeySpec(material, "AES");
+    }
+
+    /**
+     * Encrypts an encoded private key; the key id is bound as associated data.
+     */
+    public String encrypt(String kid, byte[] privateKey) {
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            byte[] encrypted = cipher.doFinal(privateKey);
+            return PREFIX + Base64.getEncoder().encodeToString(
+                    ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt signing key " + kid, e);
+        }
+    }
+
+    /**
+     * Decrypts a stored private key; values stored before encryption was introduced are plain Base64.
+     */
+    public byte[] decrypt(String kid, String stored) throws GeneralSecurityException {
+        if (!stored.startsWith(PREFIX)) {
+            return Base64.getDecoder().decode(stored);
+        }
+        byte[] data = Base64.getDecoder().decode(stored.substring(PREFIX.length()));
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, 0, IV_LENGTH));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        return cipher.doFinal(data, IV_LENGTH, data.length - IV_LENGTH);
+    }
+}
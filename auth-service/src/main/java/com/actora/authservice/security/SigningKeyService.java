@@ -0,0 +1,295 @@
+package com.actora.authservice.security;
+
+import com.actora.authservice.entity.SigningKey;
+import com.actora.authservice.repository.SigningKeyRepository;
+import com.actora.common.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * RS256 signing keys with rotation, shared across auth-service instances through the database.
+ *
+ * A new key is created {@code publish-lead} before the current one reaches
+ * {@code rotation-interval}; it appears in the JWKS immediately but only signs once activated,
+ * so gateways have picked it up before the first token carrying its {@code kid} arrives. Keys
+ * stay published until every token they signed has expired. The very first key signs only after
+ * {@code check-interval}, so every running instance has reloaded it, plus
+ * {@code initial-publish-delay} for the gateways; until then token issuance answers 503.
+ *
+ * Keys are created only by the startup check and the scheduled rotation. Each key takes the next
+ * number in a sequence held under a unique constraint, so when several instances find the same
+ * key due only one of them creates it and the others load the winner. When a pending key is due
+ * to sign, the keys are reloaded from the database first. An unknown {@code kid} seen while
+ * verifying triggers a background reload of the stored keys, at most once per
+ * {@code RELOAD_BACKOFF_MILLIS}, and never creates a key on the request thread.
+ *
+ * Private keys are stored encrypted by {@link SigningKeyEncryption}.
+ */
+@Slf4j
+@Service
+public class SigningKeyService implements SmartInitializingSingleton {
+
+    private static final int KEY_SIZE = 2048;
+    private static final long RELOAD_BACKOFF_MILLIS = 10_000;
+
+    private final SigningKeyRepository signingKeyRepository;
+    private final SigningKeyEncryption encryption;
+    private final Duration rotationInterval;
+    private final Duration publishLead;
+    private final Duration initialPublishDelay;
+    private final Duration checkInterval;
+    private final Duration tokenLifetime;
+    private final SimpleAsyncTaskExecutor reloadExecutor = new SimpleAsyncTaskExecutor("signing-key-reload-");
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+    private volatile KeySet keySet = KeySet.EMPTY;
+    private volatile long lastReloadMillis;
+
+    public SigningKeyService(SigningKeyRepository signingKeyRepository,
+                             SigningKeyEncryption encryption,
+                             @Value("${jwt.signing.rotation-interval:7d}") Duration rotationInterval,
+                             @Value("${jwt.signing.publish-lead:10m}") Duration publishLead,
+                             @Value("${jwt.signing.initial-publish-delay:30s}") Duration initialPublishDelay,
+                             @Value("${jwt.signing.check-interval:60s}") Duration checkInterval,
+                             @Value("${jwt.access-token-expiration}") long accessTokenExpiration) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.encryption = encryption;
+        this.rotationInterval = rotationInterval;
+        this.publishLead = publishLead;
+        this.initialPublishDelay = initialPublishDelay;
+        this.checkInterval = checkInterval;
+        this.tokenLifetime = Duration.ofMillis(accessTokenExpiration);
+        reloadExecutor.setVirtualThreads(true);
+    }
+
+    /**
+     * Loads or creates the keys before the web server starts.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rotateIfDue();
+    }
+
+    /**
+     * Picks up keys created by other instances and creates the next key when one is due.
+     */
+    @Scheduled(fixedDelayString = "${jwt.signing.check-interval:60s}", initialDelayString = "${jwt.signing.check-interval:60s}")
+    public synchronized void rotateIfDue() {
+        Instant now = Instant.now();
+        signingKeyRepository.deleteExpired(now);
+        List<SigningKey> stored = signingKeyRepository.findByExpiresAtAfter(now);
+
+        SigningKey newest = stored.stream()
+                .max(Comparator.comparing(SigningKey::getActivatesAt))
+                .orElse(null);
+        Instant activatesAt = null;
+        if (newest == null) {
+            activatesAt = now.plus(checkInterval).plus(initialPublishDelay);
+        } else if (!newest.getActivatesAt().plus(rotationInterval).isAfter(now.plus(publishLead))) {
+            Instant due = newest.getActivatesAt().plus(rotationInterval);
+            activatesAt = due.isAfter(now.plus(publishLead)) ? due : now.plus(publishLead);
+        }
+        if (activatesAt != null) {
+            long generation = stored.stream()
+                    .map(SigningKey::getGeneration)
+                    .filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder())
+                    .orElse(0L) + 1;
+            createKey(generation, activatesAt);
+            // Includes the key another instance created instead, if it won
+            stored = signingKeyRepository.findByExpiresAtAfter(now);
+        }
+
+        keySet = KeySet.of(stored, now, encryption);
+        lastReloadMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * The key new tokens are signed with.
+     *
+     * @throws BusinessException with 503 while no published key has been activated yet
+     */
+    public ActiveKey currentKey() {
+        Instant now = Instant.now();
+        Instant activation = keySet.nextActivation();
+        if (activation != null && !now.isBefore(activation) && lastReloadMillis < activation.toEpochMilli()) {
+            // A pending key starts signing; confirm it against the database once before using it
+            reload();
+        }
+        ActiveKey current = keySet.signingKey(now);
+        if (current == null) {
+            throw new BusinessException("No signing key is active yet, please retry",
+                    HttpStatus.SERVICE_UNAVAILABLE, "SIGNING_KEY_PENDING");
+        }
+        return current;
+    }
+
+    /**
+     * The verification key for {@code kid}, or {@code null} if it is unknown or expired.
+     */
+    public PublicKey publicKey(String kid) {
+        PublicKey key = keySet.publicKeys().get(kid);
+        if (key == null && System.currentTimeMillis() - lastReloadMillis > RELOAD_BACKOFF_MILLIS
+                && reloadPending.compareAndSet(false, true)) {
+            // Possibly created by another instance since the last reload; picked up by later requests
+            reloadExecutor.execute(this::reload);
+        }
+        return key;
+    }
+
+    /**
+     * The published keys as a JWK Set (RFC 7517).
+     */
+    public Map<String, Object> jwks() {
+        return keySet.jwks();
+    }
+
+    private synchronized void reload() {
+        try {
+            Instant now = Instant.now();
+            keySet = KeySet.of(signingKeyRepository.findByExpiresAtAfter(now), now, encryption);
+        } catch (RuntimeException e) {
+            log.warn("Could not reload signing keys: {}", e.getMessage());
+        } finally {
+            lastReloadMillis = System.currentTimeMillis();
+            reloadPending.set(false);
+        }
+    }
+
+    private void createKey(long generation, Instant activatesAt) {
+        KeyPair keyPair;
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(KEY_SIZE);
+            keyPair = generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not generate signing key", e);
+        }
+
+        String kid = UUID.randomUUID().toString();
+        try {
+            signingKeyRepository.saveAndFlush(SigningKey.builder()
+                    .kid(kid)
+                    .generation(generation)
+                    .publicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()))
+                    .privateKey(encryption.encrypt(kid, keyPair.getPrivate().getEncoded()))
+                    .activatesAt(activatesAt)
+                    .expiresAt(activatesAt.plus(rotationInterval).plus(publishLead).plus(tokenLifetime))
+                    .build());
+            log.info("Created signing key {} (active from {})", kid, activatesAt);
+        } catch (DataIntegrityViolationException e) {
+            log.info("Signing key {} was created by another instance", generation);
+        }
+    }
+
+    /**
+     * A decoded signing key.
+     */
+    public record ActiveKey(String kid, PrivateKey privateKey, RSAPublicKey publicKey, Instant activatesAt) {
+    }
+
+    /**
+     * Immutable snapshot of the published keys, swapped as a whole on reload.
+     */
+    private record KeySet(List<ActiveKey> keys, Map<String, PublicKey> publicKeys, Map<String, Object> jwks,
+                          Instant nextActivation) {
+
+        private static final KeySet EMPTY = new KeySet(List.of(), Map.of(), Map.of("keys", List.of()), null);
+
+        private static KeySet of(List<SigningKey> stored, Instant now, SigningKeyEncryption encryption) {
+            List<ActiveKey> keys = new ArrayList<>();
+            Map<String, PublicKey> publicKeys = new HashMap<>();
+            List<Map<String, Object>> jwks = new ArrayList<>();
+            for (SigningKey key : stored) {
+                if (!key.getExpiresAt().isAfter(now)) {
+                    continue;
+                }
+                ActiveKey active = decode(key, encryption);
+                keys.add(active);
+                publicKeys.put(active.kid(), active.publicKey());
+                jwks.add(toJwk(active));
+            }
+            keys.sort(Comparator.comparing(ActiveKey::activatesAt).reversed());
+            Instant nextActivation = keys.stream()
+                    .map(ActiveKey::activatesAt)
+                    .filter(activatesAt -> activatesAt.isAfter(now))
+                    .min(Comparator.naturalOrder())
+                    .orElse(null);
+            return new KeySet(List.copyOf(keys), Map.copyOf(publicKeys), Map.of("keys", List.copyOf(jwks)),
+                    nextActivation);
+        }
+
+        private ActiveKey signingKey(Instant now) {
+            // Newest activated key; pending keys are published but do not sign yet
+            for (ActiveKey key : keys) {
+                if (!key.activatesAt().isAfter(now)) {
+                    return key;
+                }
+            }
+            return null;
+        }
+
+        private static ActiveKey decode(SigningKey key, SigningKeyEncryption encryption) {
+            try {
+                KeyFactory factory = KeyFactory.getInstance("RSA");
+                PrivateKey privateKey = factory.generatePrivate(
+                        new PKCS8EncodedKeySpec(encryption.decrypt(key.getKid(), key.getPrivateKey())));
+                RSAPublicKey publicKey = (RSAPublicKey) factory.generatePublic(
+                        new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey())));
+                return new ActiveKey(key.getKid(), privateKey, publicKey, key.getActivatesAt());
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Could not decode signing key " + key.getKid(), e);
+            }
+        }
+
+        private static Map<String, Object> toJwk(ActiveKey key) {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "RSA");
+            jwk.put("kid", key.kid());
+            jwk.put("use", "sig");
+            jwk.put("alg", "RS256");
+            jwk.put("n", base64Url(key.publicKey().getModulus()));
+            jwk.put("e", base64Url(key.publicKey().getPublicExponent()));
+            return jwk;
+        }
+
+        private static String base64Url(BigInteger value) {
+            byte[] bytes = value.toByteArray();
+            // Unsigned big-endian, without the sign byte BigInteger may prepend
+            if (bytes.length > 1 && bytes[0] == 0) {
+                byte[] unsigned = new byte[bytes.length - 1];
+                System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+                bytes = unsigned;
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        }
+    }
+}
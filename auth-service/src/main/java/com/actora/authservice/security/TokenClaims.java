@@ -0,0 +1,21 @@
+package com.actora.authservice.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.List;
+
+/**
+ * Typed view of a verified token's claims, read from a single parse.
+ */
+public record TokenClaims(String username, Long userId, List<String> roles, long expiresAtMillis) {
+
+    @SuppressWarnings("unchecked")
+    static TokenClaims of(Claims claims) {
+        List<String> roles = claims.get("roles", List.class);
+        return new TokenClaims(
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                roles != null ? List.copyOf(roles) : List.of(),
+                claims.getExpiration().getTime());
+    }
+}
@@ -8,6 +8,7 @@ import com.actora.authservice.entity.Role;
 import com.actora.authservice.repository.AuthUserRepository;
 import com.actora.authservice.repository.RefreshTokenRepository;
 import com.actora.authservice.security.JwtService;
+import com.actora.authservice.security.TokenDigests;
 import com.actora.common.dto.ApiResponse;
 import com.actora.common.exception.BusinessException;
 import com.actora.common.exception.DuplicateResourceException;
@@ -18,11 +19,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -36,6 +39,9 @@ public class AuthService {
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserProfileService userProfileService;
+    private final RefreshTokenStorageMigration refreshTokenStorageMigration;
 
     @Value("${jwt.refresh-token-expiration}")
     private long refreshTokenExpiration;
@@ -80,6 +86,7 @@ public class AuthService {
                 .username(request.getUsername())
                 .email(request.getEmail())
                 .password(passwordEncoder.encode(request.getPassword()))
+                .fullName(fullName)
                 .build();
 
         authUser.addRole(Role.ROLE_USER);
@@ -87,29 +94,31 @@ public class AuthService {
         AuthUser savedUser = authUserRepository.save(authUser);
         log.info("Auth user created with ID: {}, linked to user-service ID: {}", savedUser.getId(), userId);
 
-        return generateAuthResponse(savedUser, fullName);
+        return generateAuthResponse(savedUser, CompletableFuture.completedFuture(fullName));
     }
 
     @Transactional
     public AuthResponse login(LoginRequest request) {
         log.info("Login attempt for user: {}", request.getUsername());
 
+        Authentication authentication;
         try {
-            authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
             );
         } catch (BadCredentialsException e) {
             throw new BusinessException("Invalid username or password", HttpStatus.UNAUTHORIZED, "INVALID_CREDENTIALS");
         }
 
-        AuthUser user = authUserRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new BusinessException("User not found", HttpStatus.NOT_FOUND, "USER_NOT_FOUND"));
+        // The authenticated principal is the user loaded (or cached) by CustomUserDetailsService
+        AuthUser user = (AuthUser) authentication.getPrincipal();
+
+        // Fetch the user profile from user-service while tokens are issued
+        CompletableFuture<String> fullName = userProfileService.fetchFullName(user);
 
         // Revoke all existing refresh tokens
         refreshTokenRepository.revokeAllUserTokens(user);
-
-        // Fetch user profile from user-service
-        String fullName = fetchFullName(user);
+        refreshTokenStorageMigration.mirrorAllRevoked(user.getId());
 
         log.info("User logged in successfully: {}", user.getUsername());
         return generateAuthResponse(user, fullName);
@@ -119,7 +128,9 @@ public class AuthService {
     public AuthResponse refreshToken(RefreshTokenRequest request) {
         log.info("Refreshing token");
 
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(request.getRefreshToken())
+        // Tokens issued or revoked by previous-version instances during a rolling deploy
+        refreshTokenStorageMigration.syncLegacyToken(request.getRefreshToken());
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(TokenDigests.sha256(request.getRefreshToken()))
                 .orElseThrow(() -> new BusinessException("Invalid refresh token", HttpStatus.UNAUTHORIZED, "INVALID_TOKEN"));
 
         if (!refreshToken.isValid()) {
@@ -127,12 +138,13 @@ public class AuthService {
         }
 
         AuthUser user = refreshToken.getUser();
+        CompletableFuture<String> fullName = userProfileService.fetchFullName(user);
 
         // Revoke old refresh token
         refreshToken.setRevoked(true);
         refreshTokenRepository.save(refreshToken);
+        refreshTokenStorageMigration.mirrorRevoked(request.getRefreshToken());
 
-        String fullName = fetchFullName(user);
         return generateAuthResponse(user, fullName);
     }
 
@@ -140,63 +152,45 @@ public class AuthService {
     public void logout(String refreshToken) {
         log.info("Logging out user");
 
-        RefreshToken token = refreshTokenRepository.findByToken(refreshToken)
+        refreshTokenStorageMigration.syncLegacyToken(refreshToken);
+        RefreshToken token = refreshTokenRepository.findByTokenHash(TokenDigests.sha256(refreshToken))
                 .orElse(null);
 
         if (token != null) {
             refreshTokenRepository.revokeAllUserTokens(token.getUser());
+            refreshTokenStorageMigration.mirrorAllRevoked(token.getUser().getId());
+            // Access tokens are otherwise honoured by the gateways until they expire
+            tokenRevocationService.revokeAccessTokens(token.getUser());
         }
     }
 
     public TokenValidationResponse validateToken(String token) {
-        try {
-            if (jwtService.isTokenValid(token)) {
-                String username = jwtService.extractUsername(token);
-                Long userId = jwtService.extractUserId(token);
-                var roles = jwtService.extractRoles(token);
-
-                return TokenValidationResponse.builder()
+        return jwtService.validate(token)
+                .map(claims -> TokenValidationResponse.builder()
                         .valid(true)
-                        .username(username)
-                        .userId(userId)
-                        .roles(roles)
-                        .build();
-            }
-        } catch (Exception e) {
-            log.error("Token validation failed: {}", e.getMessage());
-        }
-
-        return TokenValidationResponse.builder()
-                .valid(false)
-                .build();
-    }
-
-    private String fetchFullName(AuthUser user) {
-        if (user.getUserId() != null) {
-            try {
-                ApiResponse<UserServiceClient.UserDto> response = userServiceClient.getUserById(user.getUserId());
-                if (response.isSuccess() && response.getData() != null) {
-                    return response.getData().fullName();
-                }
-            } catch (Exception e) {
-                log.warn("Could not fetch user profile: {}", e.getMessage());
-            }
-        }
-        return user.getUsername(); // Fallback to username
+                        .username(claims.username())
+                        .userId(claims.userId())
+                        .roles(claims.roles())
+                        .build())
+                .orElseGet(() -> TokenValidationResponse.builder()
+                        .valid(false)
+                        .build());
     }
 
-    private AuthResponse generateAuthResponse(AuthUser user, String fullName) {
+    private AuthResponse generateAuthResponse(AuthUser user, CompletableFuture<String> fullNameFuture) {
         String accessToken = jwtService.generateAccessToken(user);
         String refreshToken = jwtService.generateRefreshToken(user);
 
-        // Save refresh token
+        // Save refresh token; only its digest is stored
         RefreshToken token = RefreshToken.builder()
-                .token(refreshToken)
+                .tokenHash(TokenDigests.sha256(refreshToken))
                 .user(user)
                 .expiryDate(LocalDateTime.now().plusSeconds(refreshTokenExpiration / 1000))
                 .build();
         refreshTokenRepository.save(token);
+        refreshTokenStorageMigration.mirrorIssued(refreshToken, user.getId(), token.getExpiryDate());
 
+        String fullName = userProfileService.awaitFullName(user, fullNameFuture);
         return AuthResponse.builder()
                 .accessToken(accessToken)
                 .refreshToken(refreshToken)
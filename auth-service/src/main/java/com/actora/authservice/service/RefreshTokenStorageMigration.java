@@ -0,0 +1,190 @@
+package com.actora.authservice.service;
+
+import com.actora.authservice.security.TokenDigests;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Conversion of the legacy {@code refresh_tokens} table, which stored raw tokens, into
+ * {@code refresh_token_hashes}, safe for rolling deploys.
+ *
+ * On startup, if the legacy table still exists, its unrevoked and unexpired tokens are copied as
+ * SHA-256 digests, so existing sessions keep working. Databases created after the change never
+ * have the legacy table and skip this entirely.
+ *
+ * Instances of the previous version keep reading and writing the legacy table until they are
+ * gone, so it is kept rather than dropped: tokens they issue or revoke later are picked up by
+ * {@link #syncLegacyToken} when presented here, and tokens issued or revoked here are mirrored
+ * into it. Once no previous-version instance remains, start the instances with
+ * {@code refresh-token-migration.drop-legacy-table=true}; the first one drops the table and the
+ * others stop mirroring when they find it gone. Until then the legacy table keeps holding raw
+ * tokens.
+ *
+ * Runs once all beans exist, before the web server starts and the instance registers with
+ * Eureka. Instances starting together may both run it: each row is inserted only if its digest is
+ * not present yet, in its own statement. Legacy statements issued while serving run in their own
+ * transactions, so a legacy table dropped meanwhile does not fail the request.
+ */
+@Slf4j
+@Component
+public class RefreshTokenStorageMigration implements SmartInitializingSingleton {
+
+    private static final String LEGACY_TABLE = "refresh_tokens";
+
+    private static final String INSERT_IF_ABSENT =
+            "INSERT INTO refresh_token_hashes (token_hash, user_id, expiry_date, revoked, created_at) "
+                    + "SELECT ?, ?, ?, ?, ? "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM refresh_token_hashes WHERE token_hash = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate legacyTransaction;
+    private final boolean dropLegacyTable;
+    private volatile boolean legacyTableActive;
+
+    public RefreshTokenStorageMigration(JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${refresh-token-migration.drop-legacy-table:false}") boolean dropLegacyTable) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.legacyTransaction = new TransactionTemplate(transactionManager);
+        this.legacyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.dropLegacyTable = dropLegacyTable;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!legacyTableExists()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<LegacyToken> tokens;
+        try {
+            tokens = jdbcTemplate.query(
+                    "SELECT token, user_id, expiry_date, revoked FROM " + LEGACY_TABLE
+                            + " WHERE revoked = false AND expiry_date > ?",
+                    (rs, rowNum) -> new LegacyToken(
+                            TokenDigests.sha256(rs.getString("token")),
+                            rs.getLong("user_id"),
+                            rs.getTimestamp("expiry_date"),
+                            rs.getBoolean("revoked")),
+                    now);
+        } catch (DataAccessException e) {
+            if (!legacyTableExists()) {
+                log.info("Table {} was dropped by another instance", LEGACY_TABLE);
+                return;
+            }
+            throw e;
+        }
+
+        int migrated = 0;
+        for (LegacyToken token : tokens) {
+            migrated += copy(token, now);
+        }
+
+        if (dropLegacyTable) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + LEGACY_TABLE);
+            log.info("Migrated {} refresh tokens to digest storage and dropped table {}", migrated, LEGACY_TABLE);
+        } else {
+            legacyTableActive = true;
+            log.info("Migrated {} refresh tokens to digest storage; keeping table {} in step until it is dropped",
+                    migrated, LEGACY_TABLE);
+        }
+    }
+
+    /**
+     * Brings a presented token written by a previous-version instance into digest storage: copies
+     * it if it is missing, and revokes it if it was revoked in the legacy table.
+     */
+    public void syncLegacyToken(String rawToken) {
+        inLegacyTransaction(() -> {
+            List<LegacyToken> tokens = jdbcTemplate.query(
+                    "SELECT user_id, expiry_date, revoked FROM " + LEGACY_TABLE + " WHERE token = ?",
+                    (rs, rowNum) -> new LegacyToken(
+                            TokenDigests.sha256(rawToken),
+                            rs.getLong("user_id"),
+                            rs.getTimestamp("expiry_date"),
+                            rs.getBoolean("revoked")),
+                    rawToken);
+            for (LegacyToken token : tokens) {
+                copy(token, Timestamp.valueOf(LocalDateTime.now()));
+                if (token.revoked()) {
+                    jdbcTemplate.update("UPDATE refresh_token_hashes SET revoked = true WHERE token_hash = ?",
+                            (Object) token.tokenHash());
+                }
+            }
+        });
+    }
+
+    /**
+     * Records a token issued here so previous-version instances can refresh it.
+     */
+    public void mirrorIssued(String rawToken, Long userId, LocalDateTime expiryDate) {
+        inLegacyTransaction(() -> jdbcTemplate.update(
+                "INSERT INTO " + LEGACY_TABLE + " (token, user_id, expiry_date, revoked, created_at) VALUES (?, ?, ?, false, ?)",
+                rawToken, userId, Timestamp.valueOf(expiryDate), Timestamp.valueOf(LocalDateTime.now())));
+    }
+
+    /**
+     * Revokes a token in the legacy table as well.
+     */
+    public void mirrorRevoked(String rawToken) {
+        inLegacyTransaction(() -> jdbcTemplate.update(
+                "UPDATE " + LEGACY_TABLE + " SET revoked = true WHERE token = ?", rawToken));
+    }
+
+    /**
+     * Revokes all of a user's tokens in the legacy table as well.
+     */
+    public void mirrorAllRevoked(Long userId) {
+        inLegacyTransaction(() -> jdbcTemplate.update(
+                "UPDATE " + LEGACY_TABLE + " SET revoked = true WHERE user_id = ?", userId));
+    }
+
+    private void inLegacyTransaction(Runnable statements) {
+        if (!legacyTableActive) {
+            return;
+        }
+        try {
+            legacyTransaction.executeWithoutResult(status -> statements.run());
+        } catch (DataAccessException e) {
+            if (!legacyTableExists()) {
+                legacyTableActive = false;
+                log.info("Table {} was dropped, no longer keeping it in step", LEGACY_TABLE);
+                return;
+            }
+            log.warn("Could not keep table {} in step: {}", LEGACY_TABLE, e.getMessage());
+        }
+    }
+
+    private int copy(LegacyToken token, Timestamp now) {
+        try {
+            return jdbcTemplate.update(INSERT_IF_ABSENT,
+                    token.tokenHash(), token.userId(), token.expiryDate(), token.revoked(), now, token.tokenHash());
+        } catch (DuplicateKeyException e) {
+            // Inserted concurrently by another instance
+            return 0;
+        }
+    }
+
+    private boolean legacyTableExists() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE LOWER(table_name) = ?",
+                Integer.class, LEGACY_TABLE);
+        return count != null && count > 0;
+    }
+
+    private record LegacyToken(byte[] tokenHash, long userId, Timestamp expiryDate, boolean revoked) {
+    }
+}
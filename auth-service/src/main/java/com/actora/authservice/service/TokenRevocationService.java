@@ -0,0 +1,58 @@
+package com.actora.authservice.service;
+
+import com.actora.authservice.dto.RevocationEntry;
+import com.actora.authservice.entity.AccessRevocation;
+import com.actora.authservice.entity.AuthUser;
+import com.actora.authservice.repository.AccessRevocationRepository;
+import com.actora.authservice.security.JwtService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Records access-token revocations and serves them to the gateways, which poll
+ * {@code /internal/revocations} and reject revoked tokens locally.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private final AccessRevocationRepository accessRevocationRepository;
+    private final JwtService jwtService;
+
+    /**
+     * Revokes every access token issued to the user so far.
+     */
+    @Transactional
+    public void revokeAccessTokens(AuthUser user) {
+        Instant now = Instant.now();
+        accessRevocationRepository.deleteExpired(now);
+        accessRevocationRepository.save(AccessRevocation.builder()
+                .userId(jwtService.tokenUserId(user))
+                .revokedAt(now)
+                .expiresAt(now.plusMillis(jwtService.getAccessTokenExpiration()))
+                .build());
+        log.info("Access tokens revoked for user: {}", user.getUsername());
+    }
+
+    /**
+     * Active revocations recorded after {@code sinceMillis}; 0 returns all of them.
+     */
+    @Transactional(readOnly = true)
+    public List<RevocationEntry> revocationsSince(long sinceMillis) {
+        return accessRevocationRepository
+                .findByRevokedAtAfterAndExpiresAtAfter(Instant.ofEpochMilli(sinceMillis), Instant.now())
+                .stream()
+                .map(revocation -> RevocationEntry.builder()
+                        .userId(String.valueOf(revocation.getUserId()))
+                        .revokedAt(revocation.getRevokedAt().toEpochMilli())
+                        .expiresAt(revocation.getExpiresAt().toEpochMilli())
+                        .build())
+                .toList();
+    }
+}
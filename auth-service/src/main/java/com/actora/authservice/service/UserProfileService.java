@@ -0,0 +1,108 @@
+package com.actora.authservice.service;
+
+import com.actora.authservice.client.UserServiceClient;
+import com.actora.authservice.entity.AuthUser;
+import com.actora.authservice.repository.AuthUserRepository;
+import com.actora.authservice.security.CustomUserDetailsService;
+import com.actora.common.dto.ApiResponse;
+import feign.Request;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Looks up users' full names in user-service without holding up token issuance.
+ *
+ * The lookup starts before tokens are signed and the refresh token is stored, and the caller
+ * waits at most {@code user-profile.fetch-timeout} for it afterwards. When user-service is slow
+ * or unavailable the last full name stored on the {@link AuthUser} is used instead. The calls
+ * mostly wait on the network, so each runs on its own virtual thread, and carry the same timeout
+ * as connect and read timeouts so an abandoned call ends with the wait instead of Feign's default.
+ */
+@Slf4j
+@Service
+public class UserProfileService implements DisposableBean {
+
+    private final UserServiceClient userServiceClient;
+    private final AuthUserRepository authUserRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final Duration fetchTimeout;
+    private final Request.Options fetchOptions;
+    private final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("profile-fetch-");
+
+    public UserProfileService(UserServiceClient userServiceClient,
+                              AuthUserRepository authUserRepository,
+                              CustomUserDetailsService userDetailsService,
+                              @Value("${user-profile.fetch-timeout:300ms}") Duration fetchTimeout) {
+        this.userServiceClient = userServiceClient;
+        this.authUserRepository = authUserRepository;
+        this.userDetailsService = userDetailsService;
+        this.fetchTimeout = fetchTimeout;
+        this.fetchOptions = new Request.Options(fetchTimeout, fetchTimeout, true);
+        executor.setVirtualThreads(true);
+    }
+
+    /**
+     * Starts fetching the user's full name; completes with {@code null} if it cannot be fetched.
+     */
+    public CompletableFuture<String> fetchFullName(AuthUser user) {
+        if (user.getUserId() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Long userId = user.getUserId();
+        return CompletableFuture.supplyAsync(() -> fetchFullName(userId), executor);
+    }
+
+    /**
+     * Waits for a fetch started with {@link #fetchFullName(AuthUser)}, falling back to the last
+     * known full name and then to the username. A changed name is stored for later fallbacks.
+     */
+    public String awaitFullName(AuthUser user, CompletableFuture<String> fullNameFuture) {
+        String fullName = null;
+        try {
+            fullName = fullNameFuture.get(fetchTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            fullNameFuture.cancel(true);
+            log.warn("User profile fetch timed out for user: {}", user.getUsername());
+        } catch (ExecutionException e) {
+            log.warn("Could not fetch user profile: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (fullName == null) {
+            return user.getFullName() != null ? user.getFullName() : user.getUsername();
+        }
+        if (!fullName.equals(user.getFullName())) {
+            authUserRepository.updateFullName(user.getId(), fullName);
+            // The cached user still carries the old name
+            userDetailsService.evict(user.getUsername());
+        }
+        return fullName;
+    }
+
+    private String fetchFullName(Long userId) {
+        try {
+            ApiResponse<UserServiceClient.UserDto> response = userServiceClient.getUserById(userId, fetchOptions);
+            if (response.isSuccess() && response.getData() != null) {
+                return response.getData().fullName();
+            }
+        } catch (Exception e) {
+            log.warn("Could not fetch user profile: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    @Override
+    public void destroy() {
+        executor.close();
+    }
+}